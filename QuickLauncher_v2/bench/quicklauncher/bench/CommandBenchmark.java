@@ -0,0 +1,57 @@
+package quicklauncher.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Input handling that runs on the EDT for every submitted line: splitting it into sub-commands
+ * (handleSearchAction) and substituting arguments into keyword templates (processCommand).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandBenchmark {
+    String singleCommand = "elden ring";
+    String batchCommand = "yt lofi beats  mcwiki redstone comparator  notepad  cyberpunk 2077  rl";
+    String searchTemplate = "https://youtube.com/search?q={}";
+    String wikiTemplate = "https://minecraft.wiki/{}";
+    String siteTemplate = "https://www.greenmangaming.com/search?query={}";
+
+    @Benchmark
+    public String[] splitSingle() throws Throwable {
+        return (String[]) LauncherAccess.SPLIT_SUB_COMMANDS.invokeExact(singleCommand);
+    }
+
+    @Benchmark
+    public String[] splitBatch() throws Throwable {
+        return (String[]) LauncherAccess.SPLIT_SUB_COMMANDS.invokeExact(batchCommand);
+    }
+
+    @Benchmark
+    public String expandSearch() throws Throwable {
+        return (String) LauncherAccess.EXPAND_TARGET.invokeExact(searchTemplate, "lofi hip hop radio");
+    }
+
+    @Benchmark
+    public String expandWiki() throws Throwable {
+        return (String) LauncherAccess.EXPAND_TARGET.invokeExact(wikiTemplate, "redstone comparator");
+    }
+
+    // No argument: the template is parsed as a URI to fall back to the site root.
+    @Benchmark
+    public String expandWithoutArgument() throws Throwable {
+        return (String) LauncherAccess.EXPAND_TARGET.invokeExact(siteTemplate, "");
+    }
+}
@@ -0,0 +1,117 @@
+package quicklauncher.bench;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What one scan-thread diagnostic costs the thread that reports it, with two threads reporting at
+ * once: sink=eventLog hands the record to the launcher's event log (its writer thread formats and
+ * writes to a rotating file in a temp directory), sink=console prints the same line the scan used to,
+ * to the null device through an autoflushing PrintStream like System.out. found is a match message,
+ * accessFailed an access-denied failure, which the event log samples.
+ *
+ * <pre>java -jar target/benchmarks.jar EventLog</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(2)
+@State(Scope.Benchmark)
+public class EventLogBenchmark {
+    private static final int PATHS = 1 << 10;
+
+    @Param({"eventLog", "console"})
+    String sink;
+
+    Path dir;
+    Object eventLog;
+    Object sampler;
+    Object info;
+    Object warn;
+    PrintStream console;
+    Path[] paths;
+    IOException failure;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        paths = new Path[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            paths[i] = Paths.get("C:", "Games", "Studio " + i, "Game" + i, "bin", "game" + i + ".exe");
+        }
+        failure = new AccessDeniedException("C:\\System Volume Information");
+        if (sink.equals("eventLog")) {
+            dir = Files.createTempDirectory("event-log-bench");
+            eventLog = LauncherAccess.newEventLog(dir.resolve("quicklauncher.log"), "INFO", 1 << 20, 3, 8192, 20, 1000);
+            sampler = (Object) LauncherAccess.SAMPLER_OF.invokeExact(eventLog);
+            info = LauncherAccess.level("INFO");
+            warn = LauncherAccess.level("WARN");
+            LauncherAccess.START_LOG.invokeExact(eventLog);
+        } else {
+            boolean windows = System.getProperty("os.name").startsWith("Windows");
+            console = new PrintStream(new FileOutputStream(windows ? "NUL" : "/dev/null"), true);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Throwable {
+        if (eventLog != null) {
+            LauncherAccess.CLOSE_LOG.invokeExact(eventLog);
+            try (var files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        } else {
+            console.close();
+        }
+    }
+
+    @Benchmark
+    public void found(Cursor cursor) throws Throwable {
+        Path match = paths[cursor.next++ & (PATHS - 1)];
+        if (eventLog != null) {
+            LauncherAccess.LOG.invokeExact(eventLog, info, "Found game", (Object) match, (Object) "game");
+        } else {
+            console.println("Found game: " + match + " for " + "game");
+        }
+    }
+
+    @Benchmark
+    public void accessFailed(Cursor cursor) throws Throwable {
+        Path file = paths[cursor.next++ & (PATHS - 1)];
+        if (eventLog != null) {
+            LauncherAccess.LOG_SAMPLED.invokeExact(eventLog, sampler, warn, "Failed to access file", (Object) file, (Object) failure);
+        } else {
+            console.println("Failed to access file: " + file.toString() + ", error: " + failure.getMessage());
+        }
+    }
+}
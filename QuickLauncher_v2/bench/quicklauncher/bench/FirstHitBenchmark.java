@@ -0,0 +1,118 @@
+package quicklauncher.bench;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to first hit: how long a search scan takes to reach a game's executable over the synthetic
+ * install tree (the one FullScanBenchmark walks), with the scan stopped at the hit. Start directories
+ * are laid out as searchDrive does (launcher directories, then every top-level directory), and each
+ * operation searches the next of 16 games spread over the tree. order=depthFirst is the plain walk,
+ * bestFirst the launcher's prioritized one without any launch history.
+ *
+ * <pre>java -jar target/benchmarks.jar FirstHit -p files=1000000</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FirstHitBenchmark {
+    private static final int TARGETS = 16;
+
+    @Param({"100000"})
+    int files;
+
+    @Param({"depthFirst", "bestFirst"})
+    String order;
+
+    @Param({"2"})
+    int parallelism;
+
+    ForkJoinPool pool;
+    Object scanner;
+    List<Path> startDirs;
+    List<Path> launcherRoots;
+    String[] targets;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Path dir = Paths.get(System.getProperty("ql.bench.dir",
+                Paths.get(System.getProperty("java.io.tmpdir"), "quicklauncher-synthetic-" + files).toString()));
+        List<String> games = SyntheticInstallTree.ensure(dir, files, SyntheticInstallTree.DEFAULT_SEED);
+        launcherRoots = new ArrayList<>();
+        for (Path launcherDir : List.of(SyntheticInstallTree.steamDir(dir).resolve("steamapps").resolve("common"),
+                dir.resolve("Epic Games"), SyntheticInstallTree.xboxDir(dir), dir.resolve("Program Files"))) {
+            if (Files.isDirectory(launcherDir)) {
+                launcherRoots.add(launcherDir.toRealPath());
+            }
+        }
+        startDirs = new ArrayList<>(launcherRoots);
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(dir, Files::isDirectory)) {
+            children.forEach(startDirs::add);
+        }
+        targets = new String[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            // The last game may be cut short by the file budget
+            targets[i] = games.get((int) ((long) (games.size() - 1) * i / TARGETS)).toLowerCase(Locale.ROOT);
+        }
+        pool = new ForkJoinPool(parallelism);
+        scanner = LauncherAccess.newScanner(pool, 8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    // Returns the number of files visited before the hit.
+    @Benchmark
+    public long firstHit() throws Throwable {
+        String target = targets[next++ % TARGETS];
+        String executable = target.replaceAll("\\s+", "");
+        ToDoubleFunction<Path> priority = order.equals("bestFirst")
+                ? LauncherAccess.newPriority(Collections.singletonList(target), launcherRoots, Collections.emptyList())
+                : null;
+        AtomicBoolean found = new AtomicBoolean();
+        LongAdder visited = new LongAdder();
+        LauncherAccess.scan(scanner, startDirs, found::get, priority, (file, attrs) -> {
+            visited.increment();
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.startsWith(executable) && name.endsWith(".exe")) {
+                found.set(true);
+            }
+        });
+        if (!found.get()) {
+            throw new IllegalStateException("Scan finished without reaching " + target);
+        }
+        return visited.sum();
+    }
+}
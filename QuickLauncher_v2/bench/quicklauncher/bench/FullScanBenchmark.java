@@ -0,0 +1,134 @@
+package quicklauncher.bench;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full-scan throughput over a synthetic install tree on disk, reported as files/s in the "files"
+ * counter, for each scanner parallelism. The tree is generated on first use (see
+ * SyntheticInstallTree) under -Dql.bench.dir, or the temp directory, and reused afterwards; after the
+ * warmup the directory entries are in the page cache, so this measures the walk, not the disk.
+ *
+ * <pre>java -jar target/benchmarks.jar FullScan -p files=1000000 -p parallelism=1,4</pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FullScanBenchmark {
+    @Param({"100000"})
+    int files;
+
+    @Param({"1", "2", "4", "8"})
+    int parallelism;
+
+    @Param({"8"})
+    int forkThreshold;
+
+    ForkJoinPool pool;
+    Object scanner;
+    List<Path> roots;
+    Object matcher;
+    String[] queries;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Files {
+        public long files;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            files = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Matches {
+        public long matches;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            matches = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Path dir = Paths.get(System.getProperty("ql.bench.dir",
+                Paths.get(System.getProperty("java.io.tmpdir"), "quicklauncher-synthetic-" + files).toString()));
+        List<String> games = SyntheticInstallTree.ensure(dir, files, SyntheticInstallTree.DEFAULT_SEED);
+        roots = Collections.singletonList(dir);
+        pool = new ForkJoinPool(parallelism);
+        scanner = LauncherAccess.newScanner(pool, forkThreshold);
+        String game = games.get(games.size() / 2).toLowerCase(Locale.ROOT);
+        queries = new String[]{game, game.replaceAll("\\s+", "")};
+        List<String> patterns = new ArrayList<>();
+        Collections.addAll(patterns, queries);
+        matcher = LauncherAccess.newMatcher(patterns);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    // Directory walk and attribute reads only.
+    @Benchmark
+    public void scan(Files counters) throws Throwable {
+        LongAdder visited = new LongAdder();
+        LauncherAccess.scan(scanner, roots, (file, attrs) -> visited.increment());
+        counters.files += visited.sum();
+    }
+
+    // The walk plus the per-file work searchDirectories does for a single query.
+    @Benchmark
+    public void scanAndMatch(Files counters, Matches matches) throws Throwable {
+        LongAdder visited = new LongAdder();
+        LongAdder matched = new LongAdder();
+        LauncherAccess.scan(scanner, roots, (file, attrs) -> {
+            visited.increment();
+            String fileName = file.getFileName().toString();
+            Path parent = file.getParent();
+            Path parentFileName = parent != null ? parent.getFileName() : null;
+            String parentName = parentFileName != null ? parentFileName.toString() : "";
+            String parentPath = parent != null ? parent.toString() : "";
+            try {
+                long patternMask = (long) LauncherAccess.MATCH.invokeExact(matcher, fileName)
+                        | (long) LauncherAccess.MATCH.invokeExact(matcher, parentName);
+                if (patternMask != 0 && (String) LauncherAccess.MATCH_EXECUTABLE.invokeExact(
+                        parentPath, parentName, fileName, queries[0], queries[1]) != null) {
+                    matched.increment();
+                }
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        counters.files += visited.sum();
+        matches.matches += matched.sum();
+    }
+}
@@ -0,0 +1,73 @@
+package quicklauncher.bench;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing keywords.txt with the launcher's streaming parser, from memory so only the parser is
+ * measured, handing each alias to a callback as a string. Lines mix paths, URL templates and several
+ * aliases per target like the shipped file; KeywordStoreBenchmark covers loading into the store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeywordParseBenchmark {
+    @Param({"64", "10000"})
+    int lines;
+
+    String content;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SyntheticInstallTree.DEFAULT_SEED);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            String alias = "game" + i;
+            text.append(alias).append(',').append('g').append(i).append(",the ").append(alias).append('=');
+            switch (random.nextInt(3)) {
+                case 0:
+                    text.append("C:\\Program Files (x86)\\Steam\\steamapps\\common\\Game ").append(i).append("\\game.exe");
+                    break;
+                case 1:
+                    text.append("https://game").append(i).append(".fandom.com/{}");
+                    break;
+                default:
+                    text.append("https://www.example.com/search?q={}");
+                    break;
+            }
+            text.append('\n');
+            if (random.nextInt(16) == 0) {
+                text.append('\n');
+            }
+        }
+        content = text.toString();
+    }
+
+    @Benchmark
+    public Map<String, String> parse() throws Throwable {
+        Map<String, String> keywords = new HashMap<>();
+        BiConsumer<String, String> put = keywords::put;
+        LauncherAccess.PARSE_KEYWORDS.invokeExact(new BufferedReader(new StringReader(content)), put);
+        return keywords;
+    }
+}
@@ -0,0 +1,135 @@
+package quicklauncher.bench;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A keywords.txt of generated bookmark and tool aliases (four per line, about a quarter of the lines
+ * sharing a search-URL target), loaded and queried as store=compact, the launcher's keyword store,
+ * and as store=hashMap, one HashMap entry per alias as parseKeywords produces. load is parse plus
+ * build from memory, lookup is one get (half of the aliases looked up are missing), and retainedHeap
+ * reports the heap still in use after loading and a full GC as the retainedBytes counter.
+ *
+ * <pre>java -jar target/benchmarks.jar KeywordStore -p aliases=1000000</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class KeywordStoreBenchmark {
+    private static final int ALIASES_PER_LINE = 4;
+    private static final int LOOKUPS = 1 << 12;
+
+    @Param({"1000000"})
+    int aliases;
+
+    @Param({"compact", "hashMap"})
+    String store;
+
+    String content;
+    String[] lookups;
+    Object loaded;
+    Map<String, String> loadedMap;
+    int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Heap {
+        public long retainedBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Random random = new Random(SyntheticInstallTree.DEFAULT_SEED);
+        StringBuilder text = new StringBuilder(aliases * 40);
+        for (int line = 0; line < aliases / ALIASES_PER_LINE; line++) {
+            text.append("bookmark").append(line).append(",bm").append(line).append(", Tool ").append(line)
+                    .append(",t").append(Integer.toString(line, 36)).append('=');
+            switch (random.nextInt(4)) {
+                case 0:
+                    text.append("https://search").append(random.nextInt(1000)).append(".example.com/?q={}");
+                    break;
+                case 1:
+                    text.append("https://docs.example.com/page/").append(line);
+                    break;
+                default:
+                    text.append("C:\\Tools\\Suite ").append(line % 5000).append("\\bin\\tool").append(line).append(".exe");
+                    break;
+            }
+            text.append('\n');
+        }
+        content = text.toString();
+        lookups = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int line = random.nextInt(aliases / ALIASES_PER_LINE);
+            lookups[i] = (i % 2 == 0 ? "bm" : "missing") + line; // Fresh strings, so hash codes are not cached yet
+        }
+        if (store.equals("compact")) {
+            loaded = load();
+        } else {
+            loadedMap = loadMap();
+        }
+    }
+
+    @Benchmark
+    public Object load() throws Throwable {
+        return store.equals("compact") ? LauncherAccess.loadKeywordStore(new StringReader(content)) : loadMap();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String lookup() throws Throwable {
+        String alias = new String(lookups[next++ & (LOOKUPS - 1)]);
+        return store.equals("compact") ? (String) LauncherAccess.STORE_GET.invokeExact(loaded, alias) : loadedMap.get(alias);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 1) // JMH sums event counters over iterations, so one keeps retainedBytes per load
+    public Object retainedHeap(Heap heap) throws Throwable {
+        long before = usedHeapAfterGc();
+        Object keywords = load();
+        heap.retainedBytes = usedHeapAfterGc() - before;
+        Reference.reachabilityFence(keywords);
+        return keywords;
+    }
+
+    private Map<String, String> loadMap() throws Throwable {
+        Map<String, String> keywords = new HashMap<>();
+        BiConsumer<String, String> put = keywords::put;
+        LauncherAccess.PARSE_KEYWORDS.invokeExact(new BufferedReader(new StringReader(content)), put);
+        return keywords;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,244 @@
+package quicklauncher.bench;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToDoubleFunction;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Method handles into the launcher. Its classes live in the unnamed package, which JMH benchmarks
+ * cannot import, so everything the suite calls is looked up once here; the handles are constants and
+ * inline like direct calls once JIT-compiled.
+ */
+final class LauncherAccess {
+    private static final Class<?> LAUNCHER = load("QuickLauncher_v2");
+    private static final Class<?> SCANNER = load("QuickLauncher_v2_DirectoryScanner");
+    private static final Class<?> VISITOR = load("QuickLauncher_v2_DirectoryScanner$Visitor");
+    private static final Class<?> MATCHER = load("QuickLauncher_v2_MultiPatternMatcher");
+    private static final Class<?> CATALOG = load("QuickLauncher_v2_ManifestCatalog");
+    private static final Class<?> PRIORITY = load("QuickLauncher_v2_ScanPriority");
+    private static final Class<?> STORE = load("QuickLauncher_v2_KeywordStore");
+    private static final Class<?> STORE_BUILDER = load("QuickLauncher_v2_KeywordStore$Builder");
+    private static final Class<?> STORE_SINK = load("QuickLauncher_v2_KeywordStore$Sink");
+    private static final Class<?> EVENT_LOG = load("QuickLauncher_v2_EventLog");
+    private static final Class<?> LEVEL = load("QuickLauncher_v2_EventLog$Level");
+    private static final Class<?> SAMPLER = load("QuickLauncher_v2_EventLog$Sampler");
+    private static final Class<?> SCAN_PROGRESS = load("QuickLauncher_v2_ScanProgress");
+    private static final Class<?> TRIE = load("QuickLauncher_v2_KeywordTrie");
+    private static final MethodHandles.Lookup LOOKUP = privateLookup(LAUNCHER);
+
+    // (String input) String[]
+    static final MethodHandle SPLIT_SUB_COMMANDS = findStatic(LAUNCHER, "splitSubCommands",
+            methodType(String[].class, String.class));
+    // (String targetTemplate, String argument) String
+    static final MethodHandle EXPAND_TARGET = findStatic(LAUNCHER, "expandTarget",
+            methodType(String.class, String.class, String.class));
+    // (BufferedReader reader, BiConsumer<String, String> onKeyword) void
+    static final MethodHandle PARSE_KEYWORDS = findStatic(LAUNCHER, "parseKeywords",
+            methodType(void.class, BufferedReader.class, BiConsumer.class));
+    // (Object store, String alias) String
+    static final MethodHandle STORE_GET = findVirtual(STORE, "get", methodType(String.class, String.class))
+            .asType(methodType(String.class, Object.class, String.class));
+    // (Object eventLog, Object level, String message, Object subject, Object detail) void
+    static final MethodHandle LOG = findVirtual(EVENT_LOG, "log", methodType(void.class, LEVEL, String.class, Object.class, Object.class))
+            .asType(methodType(void.class, Object.class, Object.class, String.class, Object.class, Object.class));
+    // (Object eventLog, Object sampler, Object level, String message, Object subject, Object detail) void
+    static final MethodHandle LOG_SAMPLED = findVirtual(EVENT_LOG, "log",
+            methodType(void.class, SAMPLER, LEVEL, String.class, Object.class, Object.class))
+            .asType(methodType(void.class, Object.class, Object.class, Object.class, String.class, Object.class, Object.class));
+    // (Object eventLog) Object
+    static final MethodHandle SAMPLER_OF = findVirtual(EVENT_LOG, "sampler", methodType(SAMPLER))
+            .asType(methodType(Object.class, Object.class));
+    // (Object eventLog) void
+    static final MethodHandle START_LOG = findVirtual(EVENT_LOG, "start", methodType(void.class))
+            .asType(methodType(void.class, Object.class));
+    // (Object eventLog) void
+    static final MethodHandle CLOSE_LOG = findVirtual(EVENT_LOG, "close", methodType(void.class))
+            .asType(methodType(void.class, Object.class));
+    // (Path sizeFile) Object
+    static final MethodHandle NEW_SCAN_PROGRESS = findConstructor(SCAN_PROGRESS, methodType(void.class, Path.class))
+            .asType(methodType(Object.class, Path.class));
+    // (Object scanProgress, boolean full) void
+    static final MethodHandle BEGIN_PROGRESS = findVirtual(SCAN_PROGRESS, "begin", methodType(void.class, boolean.class))
+            .asType(methodType(void.class, Object.class, boolean.class));
+    // (Object scanProgress, Path file) void
+    static final MethodHandle PROGRESS_FILE_VISITED = findVirtual(SCAN_PROGRESS, "fileVisited", methodType(void.class, Path.class))
+            .asType(methodType(void.class, Object.class, Path.class));
+    // (String parentPath, String parentName, String fileName, String originalName, String normalizedName) String
+    static final MethodHandle MATCH_EXECUTABLE = findStatic(LAUNCHER, "matchExecutable",
+            methodType(String.class, String.class, String.class, String.class, String.class, String.class));
+    // (String fileName) boolean
+    static final MethodHandle IS_EXECUTABLE_NAME = findStatic(LAUNCHER, "isExecutableName",
+            methodType(boolean.class, String.class));
+    // (Path dir) boolean
+    static final MethodHandle IS_PRUNED_DIRECTORY = findStatic(LAUNCHER, "isPrunedDirectory",
+            methodType(boolean.class, Path.class));
+    // (Object matcher, String text) long
+    static final MethodHandle MATCH = findVirtual(MATCHER, "match", methodType(long.class, String.class))
+            .asType(methodType(long.class, Object.class, String.class));
+    // (Object catalog, String originalName, String normalizedName) List<String>
+    static final MethodHandle CATALOG_FIND = findVirtual(CATALOG, "find", methodType(List.class, String.class, String.class))
+            .asType(methodType(List.class, Object.class, String.class, String.class));
+    // (Object trie, String alias) void
+    static final MethodHandle TRIE_ADD = findVirtual(TRIE, "add", methodType(void.class, String.class))
+            .asType(methodType(void.class, Object.class, String.class));
+    // (Object trie, String prefix, int limit) List<String>
+    static final MethodHandle TRIE_SUGGEST = findVirtual(TRIE, "suggest", methodType(List.class, String.class, int.class))
+            .asType(methodType(List.class, Object.class, String.class, int.class));
+    // (Object catalog) int
+    static final MethodHandle CATALOG_SIZE = findVirtual(CATALOG, "size", methodType(int.class))
+            .asType(methodType(int.class, Object.class));
+
+    private static final MethodHandle NEW_CATALOG = findConstructor(CATALOG, methodType(void.class, List.class, List.class, List.class))
+            .asType(methodType(Object.class, List.class, List.class, List.class));
+    private static final MethodHandle NEW_TRIE = findConstructor(TRIE, methodType(void.class))
+            .asType(methodType(Object.class));
+    private static final MethodHandle NEW_MATCHER = findConstructor(MATCHER, methodType(void.class, List.class))
+            .asType(methodType(Object.class, List.class));
+    private static final MethodHandle NEW_SCANNER = findConstructor(SCANNER, methodType(void.class, ForkJoinPool.class, int.class))
+            .asType(methodType(Object.class, ForkJoinPool.class, int.class));
+    private static final MethodHandle SCAN = findVirtual(SCANNER, "scan",
+            methodType(List.class, List.class, BooleanSupplier.class, VISITOR))
+            .asType(methodType(void.class, Object.class, List.class, BooleanSupplier.class, Object.class));
+    private static final MethodHandle SCAN_BY_PRIORITY = findVirtual(SCANNER, "scan",
+            methodType(List.class, List.class, BooleanSupplier.class, VISITOR, ToDoubleFunction.class))
+            .asType(methodType(List.class, Object.class, List.class, BooleanSupplier.class, Object.class, ToDoubleFunction.class));
+    private static final MethodHandle NEW_PRIORITY = findConstructor(PRIORITY, methodType(void.class, List.class, List.class, Collection.class))
+            .asType(methodType(ToDoubleFunction.class, List.class, List.class, Collection.class));
+    private static final MethodHandle NEW_STORE_BUILDER = findConstructor(STORE_BUILDER, methodType(void.class))
+            .asType(methodType(Object.class));
+    private static final MethodHandle PARSE_INTO = findStatic(STORE, "parse", methodType(void.class, Reader.class, STORE_SINK))
+            .asType(methodType(void.class, Reader.class, Object.class));
+    private static final MethodHandle BUILD_STORE = findVirtual(STORE_BUILDER, "build", methodType(STORE))
+            .asType(methodType(Object.class, Object.class));
+    private static final MethodHandle NEW_EVENT_LOG = findConstructor(EVENT_LOG, methodType(void.class, Path.class, LEVEL,
+            long.class, int.class, boolean.class, int.class, long.class, long.class))
+            .asType(methodType(Object.class, Path.class, Object.class, long.class, int.class, boolean.class, int.class, long.class, long.class));
+    private static final MethodHandle NEW_VISITOR = visitorFactory();
+
+    private LauncherAccess() {
+    }
+
+    static Object newMatcher(List<String> patterns) throws Throwable {
+        return (Object) NEW_MATCHER.invokeExact(patterns);
+    }
+
+    static Object newCatalog(List<Path> steamDirs, List<Path> epicManifestDirs, List<Path> xboxDirs) throws Throwable {
+        return (Object) NEW_CATALOG.invokeExact(steamDirs, epicManifestDirs, xboxDirs);
+    }
+
+    static Object newTrie() throws Throwable {
+        return (Object) NEW_TRIE.invokeExact();
+    }
+
+    static Object newScanner(ForkJoinPool pool, int forkThreshold) throws Throwable {
+        return (Object) NEW_SCANNER.invokeExact(pool, forkThreshold);
+    }
+
+    // An event log level by name (DEBUG, INFO, WARN, ERROR).
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object level(String name) {
+        return Enum.valueOf((Class) LEVEL, name);
+    }
+
+    // An event log writing to file (not the console), not yet started.
+    static Object newEventLog(Path file, String minLevel, long maxBytes, int files, int capacity,
+                              long sampleFirst, long sampleEvery) throws Throwable {
+        return (Object) NEW_EVENT_LOG.invokeExact(file, level(minLevel), maxBytes, files, false, capacity, sampleFirst, sampleEvery);
+    }
+
+    // Parses keywords.txt content into the launcher's compact keyword store, as loadKeywords does.
+    static Object loadKeywordStore(Reader reader) throws Throwable {
+        Object builder = (Object) NEW_STORE_BUILDER.invokeExact();
+        PARSE_INTO.invokeExact(reader, builder);
+        return (Object) BUILD_STORE.invokeExact(builder);
+    }
+
+    // The launcher's best-first scan order for the given queries, launcher directories and past hits.
+    @SuppressWarnings("unchecked")
+    static ToDoubleFunction<Path> newPriority(List<String> queries, List<Path> launcherRoots, Collection<String> pastHits) throws Throwable {
+        return (ToDoubleFunction<Path>) NEW_PRIORITY.invokeExact(queries, launcherRoots, pastHits);
+    }
+
+    // Scans until stopped, in priority order when priority is not null; returns the directories left unwalked.
+    @SuppressWarnings("unchecked")
+    static List<Path> scan(Object scanner, List<Path> startDirs, BooleanSupplier stopped, ToDoubleFunction<Path> priority,
+                           BiConsumer<Path, BasicFileAttributes> onFile) throws Throwable {
+        Object visitor = (Object) NEW_VISITOR.invokeExact(onFile);
+        return (List<Path>) SCAN_BY_PRIORITY.invokeExact(scanner, startDirs, stopped, visitor, priority);
+    }
+
+    // Runs a scan with a visitor that forwards every regular file to onFile.
+    static void scan(Object scanner, List<Path> startDirs, BiConsumer<Path, BasicFileAttributes> onFile) throws Throwable {
+        Object visitor = (Object) NEW_VISITOR.invokeExact(onFile);
+        SCAN.invokeExact(scanner, startDirs, (BooleanSupplier) () -> false, visitor);
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name, false, LauncherAccess.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Launcher class not on the classpath: " + name, e);
+        }
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> target) {
+        try {
+            return MethodHandles.privateLookupIn(target, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MethodHandle findStatic(Class<?> owner, String name, MethodType type) {
+        try {
+            return LOOKUP.findStatic(owner, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing launcher method: " + owner.getName() + "." + name, e);
+        }
+    }
+
+    private static MethodHandle findVirtual(Class<?> owner, String name, MethodType type) {
+        try {
+            return LOOKUP.findVirtual(owner, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing launcher method: " + owner.getName() + "." + name, e);
+        }
+    }
+
+    private static MethodHandle findConstructor(Class<?> owner, MethodType type) {
+        try {
+            return LOOKUP.findConstructor(owner, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing launcher constructor: " + owner.getName(), e);
+        }
+    }
+
+    // The scanner's Visitor is package-private, so it is implemented by a lambda spun inside its package.
+    private static MethodHandle visitorFactory() {
+        try {
+            MethodType visitFile = methodType(void.class, Path.class, BasicFileAttributes.class);
+            CallSite site = LambdaMetafactory.metafactory(privateLookup(VISITOR), "visitFile",
+                    methodType(VISITOR, BiConsumer.class), visitFile,
+                    MethodHandles.lookup().findVirtual(BiConsumer.class, "accept",
+                            methodType(void.class, Object.class, Object.class)),
+                    visitFile);
+            return site.getTarget().asType(methodType(Object.class, BiConsumer.class));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot implement " + VISITOR.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package quicklauncher.bench;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Launcher-manifest discovery over the manifests of a synthetic install tree (the same tree
+ * FullScanBenchmark walks): {@code load} parses every manifest from scratch, {@code find} is a lookup
+ * against the loaded catalog including its staleness check. Setup fails unless every generated game
+ * resolves to an executable, which makes the generated manifests the catalog's fixtures.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ManifestDiscoveryBenchmark {
+    @Param({"100000"})
+    int files;
+
+    List<Path> steamDirs;
+    List<Path> epicManifestDirs;
+    List<Path> xboxDirs;
+    Object catalog;
+    String[] originalNames;
+    String[] normalizedNames;
+    int next;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Path dir = Paths.get(System.getProperty("ql.bench.dir",
+                Paths.get(System.getProperty("java.io.tmpdir"), "quicklauncher-synthetic-" + files).toString()));
+        List<String> games = SyntheticInstallTree.ensure(dir, files, SyntheticInstallTree.DEFAULT_SEED);
+        steamDirs = Collections.singletonList(SyntheticInstallTree.steamDir(dir));
+        epicManifestDirs = Collections.singletonList(SyntheticInstallTree.epicManifestDir(dir));
+        xboxDirs = Collections.singletonList(SyntheticInstallTree.xboxDir(dir));
+        catalog = LauncherAccess.newCatalog(steamDirs, epicManifestDirs, xboxDirs);
+
+        // The last game may be cut short by the file budget; every other one must resolve.
+        for (String game : games.subList(0, games.size() - 1)) {
+            String name = game.toLowerCase(Locale.ROOT);
+            if (((List<?>) LauncherAccess.CATALOG_FIND.invokeExact(catalog, name, name.replaceAll("\\s+", ""))).isEmpty()) {
+                throw new IllegalStateException("No executable discovered for " + game + " in " + dir);
+            }
+        }
+        // Every other query names an installed game, the rest miss.
+        originalNames = new String[16];
+        normalizedNames = new String[originalNames.length];
+        for (int q = 0; q < originalNames.length; q++) {
+            originalNames[q] = q % 2 == 0 ? games.get(q * 7 % games.size()).toLowerCase(Locale.ROOT) : "missing game " + q;
+            normalizedNames[q] = originalNames[q].replaceAll("\\s+", "");
+        }
+    }
+
+    @Benchmark
+    public int load() throws Throwable {
+        return (int) LauncherAccess.CATALOG_SIZE.invokeExact(LauncherAccess.newCatalog(steamDirs, epicManifestDirs, xboxDirs));
+    }
+
+    @Benchmark
+    public List<?> find() throws Throwable {
+        int q = next++ & (originalNames.length - 1);
+        return (List<?>) LauncherAccess.CATALOG_FIND.invokeExact(catalog, originalNames[q], normalizedNames[q]);
+    }
+}
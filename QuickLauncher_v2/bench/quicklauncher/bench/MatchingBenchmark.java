@@ -0,0 +1,113 @@
+package quicklauncher.bench;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-file matching cost of the scan visitor, in ns per file, over an in-memory synthetic tree so no
+ * I/O is involved. {@code prefilterAndMatch} is what searchDirectories does today (one Aho-Corasick
+ * pass picks the candidate queries); {@code matchEveryQuery} is the one-check-per-query baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchingBenchmark {
+    static final int FILES = 100_000;
+
+    @Param({"1", "8", "31"})
+    int queries;
+
+    String[] parentPaths;
+    String[] parentNames;
+    String[] fileNames;
+    String[] originalNames;
+    String[] normalizedNames;
+    Object matcher;
+
+    @Setup
+    public void setUp() throws Throwable {
+        List<String> parents = new ArrayList<>(FILES);
+        List<String> names = new ArrayList<>(FILES);
+        List<String> games = SyntheticInstallTree.generate(Paths.get("/synthetic"), FILES, SyntheticInstallTree.DEFAULT_SEED,
+                (dir, name) -> {
+                    parents.add(dir.toString());
+                    names.add(name);
+                });
+        parentPaths = parents.toArray(new String[0]);
+        fileNames = names.toArray(new String[0]);
+        parentNames = new String[FILES];
+        for (int i = 0; i < FILES; i++) {
+            Path parentName = Paths.get(parentPaths[i]).getFileName();
+            parentNames[i] = parentName != null ? parentName.toString() : "";
+        }
+        // Every other query names an installed game, the rest miss, like a typical batch of searches.
+        originalNames = new String[queries];
+        normalizedNames = new String[queries];
+        List<String> patterns = new ArrayList<>();
+        for (int q = 0; q < queries; q++) {
+            String name = q % 2 == 0 ? games.get(q * 7 % games.size()).toLowerCase(Locale.ROOT) : "missing game " + q;
+            originalNames[q] = name;
+            normalizedNames[q] = name.replaceAll("\\s+", "");
+            patterns.add(originalNames[q]);
+            patterns.add(normalizedNames[q]);
+        }
+        matcher = LauncherAccess.newMatcher(patterns);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public int prefilterAndMatch() throws Throwable {
+        int matches = 0;
+        for (int i = 0; i < FILES; i++) {
+            long patternMask = (long) LauncherAccess.MATCH.invokeExact(matcher, fileNames[i])
+                    | (long) LauncherAccess.MATCH.invokeExact(matcher, parentNames[i]);
+            while (patternMask != 0) {
+                int q = Long.numberOfTrailingZeros(patternMask) / 2;
+                patternMask &= ~(3L << (q * 2));
+                if (match(i, q) != null) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public int matchEveryQuery() throws Throwable {
+        int matches = 0;
+        for (int i = 0; i < FILES; i++) {
+            for (int q = 0; q < queries; q++) {
+                if (match(i, q) != null) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private String match(int file, int query) throws Throwable {
+        return (String) LauncherAccess.MATCH_EXECUTABLE.invokeExact(parentPaths[file], parentNames[file], fileNames[file],
+                originalNames[query], normalizedNames[query]);
+    }
+}
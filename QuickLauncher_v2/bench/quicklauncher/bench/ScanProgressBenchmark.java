@@ -0,0 +1,83 @@
+package quicklauncher.bench;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What reporting progress costs a scan thread per file, with two threads scanning at once:
+ * progress=channel publishes into the launcher's progress channel, which the window's timer reads;
+ * progress=throttle is the check the scan visitor used to make, a clock read and a compare-and-set
+ * on the last update time, counting in uiPosts the status updates it would have posted to the EDT.
+ *
+ * <pre>java -jar target/benchmarks.jar ScanProgress</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(2)
+@State(Scope.Benchmark)
+public class ScanProgressBenchmark {
+    private static final int PATHS = 1 << 10;
+    private static final long UPDATE_INTERVAL_MS = 500;
+
+    @Param({"channel", "throttle"})
+    String progress;
+
+    Object channel;
+    Path[] paths;
+    final AtomicLong lastUpdateTime = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Posts {
+        public long uiPosts;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        paths = new Path[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            paths[i] = Paths.get("C:", "Games", "Studio " + i, "Game" + i, "bin", "game" + i + ".exe");
+        }
+        channel = (Object) LauncherAccess.NEW_SCAN_PROGRESS.invokeExact(Paths.get("scan_size.txt")); // Never written here
+        LauncherAccess.BEGIN_PROGRESS.invokeExact(channel, false);
+    }
+
+    @Benchmark
+    public void fileVisited(Cursor cursor, Posts counter) throws Throwable {
+        Path file = paths[cursor.next++ & (PATHS - 1)];
+        if (progress.equals("channel")) {
+            LauncherAccess.PROGRESS_FILE_VISITED.invokeExact(channel, file);
+            return;
+        }
+        long currentTime = System.currentTimeMillis();
+        long lastUpdate = lastUpdateTime.get();
+        if (currentTime - lastUpdate >= UPDATE_INTERVAL_MS && lastUpdateTime.compareAndSet(lastUpdate, currentTime)) {
+            counter.uiPosts++; // Stands in for invokeLater(() -> setTruncatedStatus("Scanning: " + file))
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package quicklauncher.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compiled scan rules against the string-based checks they replaced (kept below as Legacy, with the
+ * shipped excluded.dirs and executable.extensions), per file and per directory over an in-memory
+ * synthetic tree. Setup fails if the two disagree on any entry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScanRulesBenchmark {
+    static final int FILES = 100_000;
+
+    String[] parentPaths;
+    String[] parentNames;
+    String[] fileNames;
+    Path[] directories;
+    String query;
+    String normalizedQuery;
+
+    @Setup
+    public void setUp() throws Throwable {
+        List<String> parents = new ArrayList<>(FILES);
+        List<String> names = new ArrayList<>(FILES);
+        List<String> games = SyntheticInstallTree.generate(Paths.get("/synthetic"), FILES, SyntheticInstallTree.DEFAULT_SEED,
+                (dir, name) -> {
+                    parents.add(dir.toString());
+                    names.add(name);
+                });
+        // A few entries the launcher rules care about
+        parents.add("/synthetic/Users/player/Desktop");
+        names.add("Discord.lnk");
+        parents.add("/synthetic/Users/player/AppData/Local/Discord");
+        names.add("Update.exe");
+        parents.add("/synthetic/Recycle/Old Game");
+        names.add("OldGame.exe");
+
+        parentPaths = parents.toArray(new String[0]);
+        fileNames = names.toArray(new String[0]);
+        parentNames = new String[fileNames.length];
+        Set<Path> dirs = new LinkedHashSet<>();
+        for (int i = 0; i < fileNames.length; i++) {
+            Path parent = Paths.get(parentPaths[i]);
+            parentNames[i] = parent.getFileName() != null ? parent.getFileName().toString() : "";
+            for (Path dir = parent; dir != null && dir.getFileName() != null; dir = dir.getParent()) {
+                dirs.add(dir);
+            }
+        }
+        directories = dirs.toArray(new Path[0]);
+        query = games.get(games.size() / 2).toLowerCase(Locale.ROOT);
+        normalizedQuery = query.replaceAll("\\s+", "");
+
+        for (String[] q : new String[][]{{query, normalizedQuery}, {"discord", "discord"}, {"old game", "oldgame"}}) {
+            for (int i = 0; i < fileNames.length; i++) {
+                String expected = Legacy.matchExecutable(parentPaths[i], parentNames[i], fileNames[i], q[0], q[1]);
+                String actual = (String) LauncherAccess.MATCH_EXECUTABLE.invokeExact(parentPaths[i], parentNames[i], fileNames[i], q[0], q[1]);
+                if (!Objects.equals(expected, actual) || Legacy.isExecutableName(fileNames[i]) != (boolean) LauncherAccess.IS_EXECUTABLE_NAME.invokeExact(fileNames[i])) {
+                    throw new IllegalStateException("Rules disagree with the legacy checks on " + parentPaths[i] + "/" + fileNames[i]);
+                }
+            }
+        }
+        // The rules look at the directory name only; below a pruned directory the walk never gets there.
+        for (Path dir : directories) {
+            if (Legacy.isPrunedDirectory(dir) != prunedByRules(dir)) {
+                throw new IllegalStateException("Rules disagree with the legacy checks on " + dir);
+            }
+        }
+    }
+
+    private static boolean prunedByRules(Path dir) throws Throwable {
+        for (Path ancestor = dir; ancestor != null; ancestor = ancestor.getParent()) {
+            if ((boolean) LauncherAccess.IS_PRUNED_DIRECTORY.invokeExact(ancestor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public int legacyFiles() {
+        int matches = 0;
+        for (int i = 0; i < FILES; i++) {
+            if (Legacy.isExecutableName(fileNames[i])) {
+                matches++;
+            }
+            if (Legacy.matchExecutable(parentPaths[i], parentNames[i], fileNames[i], query, normalizedQuery) != null) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILES)
+    public int rulesFiles() throws Throwable {
+        int matches = 0;
+        for (int i = 0; i < FILES; i++) {
+            if ((boolean) LauncherAccess.IS_EXECUTABLE_NAME.invokeExact(fileNames[i])) {
+                matches++;
+            }
+            if ((String) LauncherAccess.MATCH_EXECUTABLE.invokeExact(parentPaths[i], parentNames[i], fileNames[i],
+                    query, normalizedQuery) != null) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    // Per directory, in ns; directories are fewer than files so the operation count varies.
+    @Benchmark
+    public int legacyDirectories() {
+        int pruned = 0;
+        for (Path dir : directories) {
+            if (Legacy.isPrunedDirectory(dir)) {
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    @Benchmark
+    public int rulesDirectories() throws Throwable {
+        int pruned = 0;
+        for (Path dir : directories) {
+            if ((boolean) LauncherAccess.IS_PRUNED_DIRECTORY.invokeExact(dir)) {
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+
+    /** The checks as they were before the rule engine. */
+    static final class Legacy {
+        static final Set<String> EXCLUDED_DIRS = new HashSet<>(Arrays.asList("Windows", "ProgramData",
+                "System Volume Information", "$Recycle.Bin", "Recycle", "Windows Defender Advanced Threat Protection",
+                "WindowsApps", "PerfLogs", "Voiceover", "inetpub", "OneDriveTemp"));
+        static final Set<String> EXECUTABLE_EXTENSIONS = new HashSet<>(Arrays.asList(".exe", ".lnk", ".bat"));
+
+        static boolean isPrunedDirectory(Path dir) {
+            Path name = dir.getFileName();
+            return (name != null && EXCLUDED_DIRS.contains(name.toString())) ||
+                   dir.toString().toLowerCase().contains("recycle");
+        }
+
+        static boolean isExecutableName(String fileName) {
+            String lowerName = fileName.toLowerCase();
+            return EXECUTABLE_EXTENSIONS.stream().anyMatch(lowerName::endsWith);
+        }
+
+        static String matchExecutable(String parentPath, String parentName, String fileName,
+                                      String originalGameName, String normalizedGameName) {
+            String lowerFileName = fileName.toLowerCase();
+            String lowerParentName = parentName.toLowerCase();
+            boolean isXboxGame = parentPath.toLowerCase().contains("xboxgames");
+            boolean isDiscordRelated = originalGameName.contains("discord") ||
+                                       normalizedGameName.contains("discord") ||
+                                       lowerParentName.contains("discord");
+
+            if (isDiscordRelated && !lowerFileName.endsWith(".lnk")) {
+                return null;
+            }
+
+            if (isXboxGame && !parentPath.isEmpty()) {
+                if (lowerParentName.contains(originalGameName) || lowerParentName.contains(normalizedGameName)) {
+                    Path gameLaunchHelper = Paths.get(parentPath, "Content", "gamelaunchhelper.exe");
+                    if (Files.exists(gameLaunchHelper)) {
+                        return gameLaunchHelper.toAbsolutePath().toString();
+                    }
+                    return Paths.get(parentPath, fileName).toAbsolutePath().toString();
+                }
+            } else if (isExecutableName(fileName)) {
+                if (lowerFileName.contains(originalGameName) || lowerFileName.contains(normalizedGameName) ||
+                    lowerParentName.contains(originalGameName) || lowerParentName.contains(normalizedGameName)) {
+                    return Paths.get(parentPath, fileName).toAbsolutePath().toString();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package quicklauncher.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cold start regression check: each operation is the wall time from spawning a launcher JVM with
+ * --exit-when-interactive until it reports the "interactive" milestone, so JVM boot, static init,
+ * keyword loading and the first frame are all included; the process is killed right after. With
+ * cds=on the launcher runs from a class-data-sharing archive made by a training run in setup, like
+ * mvn -Pcds package does. Run from the QuickLauncher_v2 directory; headless=false shows the window.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    @Param({"off", "on"})
+    String cds;
+
+    @Param({"true"})
+    boolean headless;
+
+    Path archive;
+    List<String> command;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // The launcher classes are shaded into the benchmark jar, which is also what CDS needs: a jar, not a directory.
+        String classPath = Paths.get(StartupBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> base = new ArrayList<>();
+        base.add(java);
+        base.add("-Djava.awt.headless=" + headless);
+        base.add("-Xlog:cds=error");
+        if (cds.equals("on")) {
+            archive = Files.createTempFile("quicklauncher-startup", ".jsa");
+            Files.delete(archive);
+            List<String> training = new ArrayList<>(base);
+            training.add("-XX:ArchiveClassesAtExit=" + archive);
+            training.addAll(List.of("-cp", classPath, "QuickLauncher_v2", "--exit-when-interactive"));
+            run(training, false); // The archive is written at a normal exit
+            if (!Files.exists(archive)) {
+                throw new IllegalStateException("Training run did not write " + archive);
+            }
+            base.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command = new ArrayList<>(base);
+        command.addAll(List.of("-cp", classPath, "QuickLauncher_v2", "--exit-when-interactive"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (archive != null) {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    // Returns the launcher's own "interactive" milestone; JMH records the wall time around it.
+    @Benchmark
+    public long interactive() throws Exception {
+        return run(command, true);
+    }
+
+    private static long run(List<String> command, boolean killWhenInteractive) throws Exception {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long interactive = -1;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                int at = line.startsWith("Startup") ? line.indexOf(" interactive=") : -1;
+                if (at >= 0) {
+                    interactive = Long.parseLong(line.substring(at + " interactive=".length()).split(" ")[0]);
+                    if (killWhenInteractive) {
+                        process.destroyForcibly(); // Shutdown is not part of startup
+                        break;
+                    }
+                }
+            }
+        } finally {
+            process.waitFor();
+        }
+        if (interactive < 0) {
+            throw new IllegalStateException("Launcher did not report startup milestones: " + String.join(" ", command));
+        }
+        return interactive;
+    }
+}
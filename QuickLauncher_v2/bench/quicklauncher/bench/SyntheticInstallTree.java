@@ -0,0 +1,289 @@
+package quicklauncher.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Reproducible synthetic install trees shaped like Steam, Epic and Xbox libraries plus the unrelated
+ * files around them. The same file count and seed always produce the same layout, names and order,
+ * so scan throughput can be compared across changes. Files are empty except for the launcher
+ * manifests (Steam libraryfolders.vdf and appmanifest_*.acf, Epic *.item, Xbox MicrosoftGame.config),
+ * which describe the generated games the way the real launchers do.
+ *
+ * <pre>java -cp target/benchmarks.jar quicklauncher.bench.SyntheticInstallTree &lt;dir&gt; &lt;files&gt; [seed]</pre>
+ */
+public final class SyntheticInstallTree {
+    static final long DEFAULT_SEED = 42;
+    static final String MARKER = ".synthetic-install-tree";
+    // Bumped whenever the generated layout changes, so trees left by older versions are regenerated
+    static final int LAYOUT = 2;
+    private static final int FILES_PER_DIR = 48;
+    private static final String[] WORDS = {
+        "Shadow", "Iron", "Legends", "Frontier", "Crystal", "Rogue", "Empire", "Star", "Forge", "Hollow",
+        "Echo", "Drift", "Saga", "Knight", "Abyss", "Harbor", "Pixel", "Storm", "Realm", "Quest",
+        "Ember", "Void", "Titan", "Lunar", "Circuit", "Wild", "Arcane", "Dust", "Neon", "Outpost"
+    };
+    private static final String[] VENDORS = {"Contoso", "Fabrikam", "Northwind", "Tailspin", "Litware", "Adatum"};
+    private static final String[] LIBRARIES = {"PhysX", "Bink", "Steamworks", "Vivox", "EOSSDK", "Ogg", "Vorbis", "Ffmpeg"};
+
+    /** Receives every generated file; directories are implied by the paths. */
+    interface Sink {
+        void file(Path dir, String name) throws IOException;
+
+        // Launcher manifests; sinks that only care about names treat them like any other file.
+        default void manifest(Path dir, String name, String content) throws IOException {
+            file(dir, name);
+        }
+    }
+
+    private final Path root;
+    private final Random random;
+    private final Sink sink;
+    private final List<String> games = new ArrayList<>();
+    private final Set<String> usedNames = new HashSet<>();
+    private int remaining;
+    private int noiseItems = 0;
+    private boolean steamLibrary = false;
+
+    private SyntheticInstallTree(Path root, int files, long seed, Sink sink) {
+        this.root = root;
+        this.remaining = files;
+        this.random = new Random(seed);
+        this.sink = sink;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticInstallTree <dir> <files> [seed]");
+            System.exit(2);
+        }
+        Path root = Paths.get(args[0]);
+        int files = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        long start = System.nanoTime();
+        List<String> games = ensure(root, files, seed);
+        System.out.printf(Locale.ROOT, "%s: %d files, %d games (%.1f s)%n",
+                root, files, games.size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    // Generates the tree under root unless a tree with the same parameters is already there; returns the game names.
+    static List<String> ensure(Path root, int files, long seed) throws IOException {
+        String signature = "files=" + files + " seed=" + seed + " layout=" + LAYOUT;
+        Path marker = root.resolve(MARKER);
+        if (Files.exists(marker)) {
+            if (new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).equals(signature)) {
+                return generate(root, files, seed, (dir, name) -> { });
+            }
+            delete(root); // A tree this generator made with other parameters
+        }
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> entries = Files.list(root)) {
+                if (entries.findAny().isPresent()) {
+                    throw new IOException("Refusing to generate into a non-empty directory: " + root);
+                }
+            }
+        }
+        List<String> games = generate(root, files, seed, new Sink() {
+            @Override
+            public void file(Path dir, String name) throws IOException {
+                Files.createDirectories(dir);
+                Files.createFile(dir.resolve(name));
+            }
+
+            @Override
+            public void manifest(Path dir, String name, String content) throws IOException {
+                Files.createDirectories(dir);
+                Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        Files.write(marker, signature.getBytes(StandardCharsets.UTF_8));
+        return games;
+    }
+
+    private static void delete(Path root) throws IOException {
+        try (Stream<Path> entries = Files.walk(root)) {
+            List<Path> paths = new ArrayList<>();
+            entries.forEach(paths::add);
+            for (int i = paths.size() - 1; i > 0; i--) { // Children first; root itself stays
+                Files.delete(paths.get(i));
+            }
+        }
+    }
+
+    // Where the generated manifests live, relative to the tree root, for pointing the catalog at them.
+    static Path steamDir(Path root) {
+        return root.resolve("Steam");
+    }
+
+    static Path epicManifestDir(Path root) {
+        return root.resolve("ProgramData").resolve("Epic").resolve("EpicGamesLauncher").resolve("Data").resolve("Manifests");
+    }
+
+    static Path xboxDir(Path root) {
+        return root.resolve("XboxGames");
+    }
+
+    // Produces exactly files entries under root into sink; returns the generated game names in order.
+    static List<String> generate(Path root, int files, long seed, Sink sink) throws IOException {
+        SyntheticInstallTree tree = new SyntheticInstallTree(root, files, seed, sink);
+        tree.run();
+        return tree.games;
+    }
+
+    private void run() throws IOException {
+        while (remaining > 0) {
+            int size = Math.min(remaining, gameSize());
+            int roll = random.nextInt(10);
+            if (roll < 3) {
+                steamGame(size);
+            } else if (roll < 5) {
+                epicGame(size);
+            } else if (roll < 6) {
+                xboxGame(size);
+            } else {
+                noise(size);
+            }
+        }
+    }
+
+    // Log-uniform between 32 and 4096 files, which is roughly how install sizes spread.
+    private int gameSize() {
+        return (int) Math.round(Math.exp(Math.log(32) + random.nextDouble() * (Math.log(4096) - Math.log(32))));
+    }
+
+    private void steamGame(int size) throws IOException {
+        String name = gameName();
+        String exe = name.replace(" ", "");
+        Path steamApps = steamDir(root).resolve("steamapps");
+        Path base = steamApps.resolve("common").resolve(name);
+        if (!steamLibrary) {
+            steamLibrary = true;
+            emitManifest(steamApps, "libraryfolders.vdf", "\"libraryfolders\"\n{\n\t\"0\"\n\t{\n\t\t\"path\"\t\t\""
+                    + escape(steamDir(root).toAbsolutePath().toString()) + "\"\n\t\t\"label\"\t\t\"\"\n\t}\n}\n");
+        }
+        int appId = 100000 + games.size();
+        emitManifest(steamApps, "appmanifest_" + appId + ".acf", "\"AppState\"\n{\n\t\"appid\"\t\t\"" + appId
+                + "\"\n\t\"name\"\t\t\"" + escape(name) + "\"\n\t\"installdir\"\t\t\"" + escape(name) + "\"\n}\n");
+        emit(base, exe + ".exe");
+        emit(base, "UnityCrashHandler64.exe");
+        emit(base, "UnityPlayer.dll");
+        Path data = base.resolve(exe + "_Data");
+        int managed = size / 8;
+        fill(data.resolve("Managed"), "Assembly", ".dll", managed);
+        fill(data.resolve("StreamingAssets"), "asset", ".bundle", size - 3 - managed);
+    }
+
+    private void epicGame(int size) throws IOException {
+        String name = gameName();
+        String shortName = name.replace(" ", "");
+        Path base = root.resolve("Epic Games").resolve(shortName);
+        Path binaries = base.resolve(shortName + "Game").resolve("Binaries").resolve("Win64");
+        String launch = shortName + "Game/Binaries/Win64/" + shortName + "-Win64-Shipping.exe";
+        emitManifest(epicManifestDir(root), String.format(Locale.ROOT, "%032X.item", (long) games.size()),
+                "{\n\t\"FormatVersion\": 0,\n\t\"bIsIncompleteInstall\": false,\n\t\"DisplayName\": \"" + escape(name)
+                + "\",\n\t\"InstallLocation\": \"" + escape(base.toAbsolutePath().toString())
+                + "\",\n\t\"LaunchExecutable\": \"" + escape(launch) + "\",\n\t\"AppName\": \"" + shortName + "\"\n}\n");
+        emit(base, shortName + ".exe");
+        emit(binaries, shortName + "-Win64-Shipping.exe");
+        String library = LIBRARIES[random.nextInt(LIBRARIES.length)];
+        int engine = size / 16;
+        fill(base.resolve("Engine").resolve("Binaries").resolve("ThirdParty").resolve(library).resolve("Win64"),
+                library, ".dll", engine);
+        fill(base.resolve(shortName + "Game").resolve("Content").resolve("Paks"), "pakchunk", "-WindowsNoEditor.pak",
+                size - 2 - engine);
+    }
+
+    private void xboxGame(int size) throws IOException {
+        String name = gameName();
+        Path content = root.resolve("XboxGames").resolve(name).resolve("Content");
+        emit(content, "gamelaunchhelper.exe");
+        emit(content, name.replace(" ", "") + ".exe");
+        emitManifest(content, "MicrosoftGame.config", "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<Game configVersion=\"1\">\n"
+                + "  <ExecutableList>\n    <Executable Name=\"" + name.replace(" ", "") + ".exe\" Id=\"Game\" />\n"
+                + "  </ExecutableList>\n</Game>\n");
+        fill(content.resolve("data"), "chunk", ".dat", size - 3);
+    }
+
+    // Everything else a full drive scan walks through: applications, caches and documents.
+    private void noise(int size) throws IOException {
+        String vendor = VENDORS[random.nextInt(VENDORS.length)];
+        String product = WORDS[random.nextInt(WORDS.length)] + "Tool" + noiseItems++;
+        switch (random.nextInt(3)) {
+            case 0:
+                Path app = root.resolve("Program Files").resolve(vendor).resolve(product);
+                emit(app, product + ".exe");
+                fill(app.resolve("bin"), product, ".dll", size - 1);
+                break;
+            case 1:
+                fill(root.resolve("Users").resolve("player").resolve("AppData").resolve("Local").resolve(vendor)
+                        .resolve(product).resolve("Cache"), "f_", "", size);
+                break;
+            default:
+                fill(root.resolve("Users").resolve("player").resolve("Documents").resolve(product), "note", ".txt", size);
+                break;
+        }
+    }
+
+    private String gameName() {
+        String base = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+        if (random.nextInt(4) == 0) {
+            base += " " + (2 + random.nextInt(4));
+        }
+        String name = base;
+        for (int edition = 2; !usedNames.add(name); edition++) {
+            name = base + " Edition " + edition;
+        }
+        games.add(name);
+        return name;
+    }
+
+    // Spreads count files over nested numbered directories of at most FILES_PER_DIR entries each.
+    private void fill(Path dir, String prefix, String extension, int count) throws IOException {
+        count = Math.min(count, remaining);
+        if (count <= 0) {
+            return;
+        }
+        if (count <= FILES_PER_DIR) {
+            for (int i = 0; i < count; i++) {
+                emit(dir, prefix + i + extension);
+            }
+            return;
+        }
+        int children = Math.min(FILES_PER_DIR, (count + FILES_PER_DIR - 1) / FILES_PER_DIR);
+        int perChild = count / children;
+        for (int i = 0; i < children; i++) {
+            fill(dir.resolve(Integer.toString(i)), prefix, extension, i == children - 1 ? count - perChild * i : perChild);
+        }
+    }
+
+    private void emitManifest(Path dir, String name, String content) throws IOException {
+        if (remaining <= 0) {
+            return;
+        }
+        sink.manifest(dir, name, content);
+        remaining--;
+    }
+
+    // VDF and JSON strings escape backslashes and quotes the same way.
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private void emit(Path dir, String name) throws IOException {
+        if (remaining <= 0) {
+            return;
+        }
+        sink.file(dir, name);
+        remaining--;
+    }
+}
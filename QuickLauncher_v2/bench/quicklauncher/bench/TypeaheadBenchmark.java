@@ -0,0 +1,67 @@
+package quicklauncher.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The typeahead lookup run on the event dispatch thread per keystroke: up to eight suggestions from
+ * the keyword trie, over generated aliases that share long prefixes the way bookmark and tool names
+ * do. Prefixes are one to six characters typed of a random alias, so short ones match tens of
+ * thousands of aliases and long ones a handful. The launcher's budget for one lookup is 1 ms.
+ *
+ * <pre>java -jar target/benchmarks.jar Typeahead -p aliases=100000</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TypeaheadBenchmark {
+    private static final int SUGGESTION_LIMIT = 8; // QuickLauncher_v2.SUGGESTION_LIMIT
+    private static final int PREFIXES = 1 << 12;
+    private static final String[] WORDS = {"bookmark", "book", "steam", "stellaris", "tool", "tools", "portal", "port"};
+
+    @Param({"100000"})
+    int aliases;
+
+    Object trie;
+    String[] prefixes;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Random random = new Random(SyntheticInstallTree.DEFAULT_SEED);
+        trie = LauncherAccess.newTrie();
+        String[] added = new String[aliases];
+        for (int i = 0; i < aliases; i++) {
+            added[i] = WORDS[random.nextInt(WORDS.length)] + (random.nextBoolean() ? " " : "") + Integer.toString(i, 36);
+            LauncherAccess.TRIE_ADD.invokeExact(trie, added[i]);
+        }
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            String alias = added[random.nextInt(aliases)];
+            prefixes[i] = alias.substring(0, Math.min(alias.length(), 1 + random.nextInt(6)));
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<String> suggest() throws Throwable {
+        return (List<String>) LauncherAccess.TRIE_SUGGEST.invokeExact(trie, prefixes[next++ & (PREFIXES - 1)], SUGGESTION_LIMIT);
+    }
+}
@@ -5,6 +5,7 @@ import java.net.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.*;
 import java.util.Queue;
 import java.util.concurrent.*;
@@ -14,43 +15,135 @@ import javax.swing.*;
 import java.util.stream.Collectors;
 
 public class QuickLauncher_v2 {
-    private static final ExecutorService executor = new ForkJoinPool(
+    static {
+        QuickLauncher_v2_StartupTrace.mark("class-init"); // Before the static fields below are initialized
+    }
+    private static final ForkJoinPool executor = new ForkJoinPool(
+        Math.max(2, Runtime.getRuntime().availableProcessors()),
+        ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+        null, false
+    );
+    // Scans get workers of their own, so the tasks queued on executor (index refresh, keyword load) run during a scan
+    private static final ForkJoinPool scanPool = new ForkJoinPool(
         Math.max(2, Runtime.getRuntime().availableProcessors()),
         ForkJoinPool.defaultForkJoinWorkerThreadFactory,
         null, false
     );
-    private static volatile boolean searchCancelled = false; // Cancellation flag
+    private static final QuickLauncher_v2_DirectoryScanner directoryScanner = new QuickLauncher_v2_DirectoryScanner(
+        scanPool, QuickLauncher_v2_Config.SCAN_FORK_THRESHOLD);
+    private static QuickLauncher_v2_SearchHandle currentSearch; // The scan behind the dropdown; EDT only
+    private static volatile int searchGeneration = 0; // Bumped when a search is started or abandoned
+    // Scans that ran out of time, by normalized name; searching the name again resumes them
+    private static final Map<String, QuickLauncher_v2_SearchHandle> suspendedSearches = Collections.synchronizedMap(
+        new LinkedHashMap<String, QuickLauncher_v2_SearchHandle>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QuickLauncher_v2_SearchHandle> eldest) {
+                return size() > 8;
+            }
+        });
     private static JFrame frame;
     private static JTextField gameNameField;
     private static JComboBox<String> exeComboBox;
     private static JLabel statusLabel;
+    private static JProgressBar progressBar;
     private static JButton searchButton;
     private static JButton confirmButton;
     private static JButton cancelButton;
+    private static JPopupMenu suggestionPopup;
+    private static JList<String> suggestionList;
+    private static DefaultListModel<String> suggestionModel;
     private static java.util.List<String> searchResults;
     private static String currentGameName;
-    private static int fileCount = 0;
-    private static long lastUpdateTime = 0;
-    private static final Map<String, String> KEYWORD_MAP = Collections.synchronizedMap(new HashMap<>());
+    private static final QuickLauncher_v2_ScanProgress scanProgress = new QuickLauncher_v2_ScanProgress(
+        Paths.get(QuickLauncher_v2_Config.SCAN_SIZE_FILE));
+    private static final QuickLauncher_v2_ScanProgress daemonProgress = new QuickLauncher_v2_ScanProgress(null); // Never shown
+    private static final QuickLauncher_v2_ScanMetrics scanMetrics = new QuickLauncher_v2_ScanMetrics();
+    private static final QuickLauncher_v2_KeywordTrie keywordTrie = new QuickLauncher_v2_KeywordTrie();
+    private static final QuickLauncher_v2_KeywordRegistry KEYWORDS = new QuickLauncher_v2_KeywordRegistry(
+        keywordTrie::add, keywordTrie::remove);
+    private static final QuickLauncher_v2_KeywordJournal keywordJournal = new QuickLauncher_v2_KeywordJournal(
+        Paths.get(QuickLauncher_v2_Config.KEYWORDS_FILE), QuickLauncher_v2_Config.KEYWORDS_COMPACT_AFTER, KEYWORDS::compacted);
+    private static final QuickLauncher_v2_EventLog eventLog = new QuickLauncher_v2_EventLog(
+        Paths.get(QuickLauncher_v2_Config.LOG_FILE), QuickLauncher_v2_Config.LOG_LEVEL, QuickLauncher_v2_Config.LOG_MAX_BYTES,
+        QuickLauncher_v2_Config.LOG_FILES, QuickLauncher_v2_Config.LOG_CONSOLE, QuickLauncher_v2_Config.LOG_BUFFER_RECORDS,
+        QuickLauncher_v2_Config.LOG_SAMPLE_FIRST, QuickLauncher_v2_Config.LOG_SAMPLE_EVERY);
+    private static final QuickLauncher_v2_EventLog.Sampler accessFailures = eventLog.sampler();
+    private static final QuickLauncher_v2_LaunchHistory launchHistory = new QuickLauncher_v2_LaunchHistory(
+        Paths.get(QuickLauncher_v2_Config.HISTORY_FILE), QuickLauncher_v2_Config.HISTORY_HALF_LIFE_DAYS,
+        QuickLauncher_v2_Config.HISTORY_COMPACT_AFTER);
+    private static final int SUGGESTION_LIMIT = 8;
+    private static final long TYPEAHEAD_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
     private static final Pattern WIKI_PATTERN = Pattern.compile("wiki|fandom", Pattern.CASE_INSENSITIVE);
     private static final Pattern DOMAIN_PATTERN = Pattern.compile("https?://(?:[\\w-]+\\.)*([\\w-]+)\\.(?:wiki|fandom)(?:\\.\\w+)?(?:/\\{\\}|/)?");
     private static final Queue<String> searchQueue = new LinkedList<>();
+    // Results for queued searches that were matched during an earlier query's traversal, by game name.
+    private static final Map<String, RankedResults> batchResults = new ConcurrentHashMap<>();
+    private static final QuickLauncher_v2_ExecutableIndex executableIndex = new QuickLauncher_v2_ExecutableIndex(
+        Paths.get(QuickLauncher_v2_Config.INDEX_FILE), TimeUnit.HOURS.toMillis(QuickLauncher_v2_Config.INDEX_MAX_AGE_HOURS));
+    private static final CompletableFuture<Void> keywordsLoaded = new CompletableFuture<>();
+    private static final CompletableFuture<Void> firstFrame = new CompletableFuture<>();
+    private static boolean resident = false; // Started with --resident: the window hides instead of exiting
+    private static final QuickLauncher_v2_TrigramIndex trigramIndex = new QuickLauncher_v2_TrigramIndex();
 
     public static void main(String[] args) {
-        try {
-            loadKeywords(QuickLauncher_v2_Config.KEYWORDS_FILE);
-            if (KEYWORD_MAP.isEmpty()) {
-                System.err.println("Warning: keywords.txt is empty or could not be loaded.");
-                SwingUtilities.invokeLater(() -> setTruncatedStatus("Warning: keywords.txt is empty or could not be loaded."));
-            } else {
-                System.out.println("Loaded " + KEYWORD_MAP.size() + " keywords from keywords.txt");
+        QuickLauncher_v2_StartupTrace.mark("main");
+        java.util.List<String> options = Arrays.asList(args);
+        resident = options.contains("--resident");
+        boolean exitWhenInteractive = options.contains("--exit-when-interactive"); // CDS training runs and startup benchmarks
+
+        // Keywords load while the window is built; searches typed before then wait for them
+        executor.execute(() -> {
+            loadStartupKeywords();
+            QuickLauncher_v2_StartupTrace.mark("keywords");
+            keywordsLoaded.complete(null);
+        });
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("Headless environment, no window is shown.");
+            firstFrame.complete(null);
+        } else {
+            SwingUtilities.invokeLater(QuickLauncher_v2::createAndShowGUI);
+        }
+        CompletableFuture.allOf(firstFrame, keywordsLoaded).thenRun(() -> SwingUtilities.invokeLater(() -> {
+            QuickLauncher_v2_StartupTrace.mark("interactive");
+            if (QuickLauncher_v2_Config.STARTUP_TRACE) {
+                System.out.println(QuickLauncher_v2_StartupTrace.summary());
             }
-        } catch (Exception e) {
-            System.err.println("Error loading keywords.txt: " + e.getMessage());
-            SwingUtilities.invokeLater(() -> setTruncatedStatus("Error loading keywords.txt: " + e.getMessage()));
+            if (exitWhenInteractive) {
+                System.exit(0);
+            }
+        }));
+
+        // Nothing below is needed for the first frame
+        eventLog.start();
+        executor.submit(() -> System.out.println("Loaded " + ManifestCatalogHolder.MANIFEST_CATALOG.size() + " games from launcher manifests"));
+        executor.submit(launchHistory::load);
+        executor.submit(scanProgress::load);
+        executor.submit(() -> {
+            if (executableIndex.load()) {
+                System.out.println("Loaded executable index: " + QuickLauncher_v2_Config.INDEX_FILE);
+            }
+            executableIndex.refresh(indexRoots());
+            executableIndex.forEach((dir, name) -> trigramIndex.add(Paths.get(dir, name).toString()));
+        });
+        executor.execute(() -> LauncherWatcherHolder.LAUNCHER_WATCHER.start());
+        executor.execute(() -> ProcessTableHolder.PROCESS_TABLE.start());
+        executor.execute(scanMetrics::register); // Starting the platform MBean server is slow
+        // On this thread: a headless launcher would exit before an executor task got to start the acceptor
+        if (QuickLauncher_v2_Config.DAEMON_ENABLED && DaemonHolder.DAEMON.start()) {
+            System.out.println("Listening for launch requests on " + QuickLauncher_v2_Config.DAEMON_SOCKET);
         }
-        SwingUtilities.invokeLater(QuickLauncher_v2::createAndShowGUI);
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (QuickLauncher_v2_Config.METRICS_DUMP_ON_EXIT) {
+                System.out.println(scanMetrics.report());
+            }
+            keywordJournal.close();
+            launchHistory.close();
+            eventLog.close();
+            ProcessTableHolder.PROCESS_TABLE.stop();
+            LaunchPipelineHolder.LAUNCH_PIPELINE.shutdown();
+            if (QuickLauncher_v2_Config.DAEMON_ENABLED) {
+                DaemonHolder.DAEMON.stop();
+            }
             executor.shutdownNow();
             try {
                 if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
@@ -63,13 +156,77 @@ public class QuickLauncher_v2 {
         }));
     }
 
+    private static void loadStartupKeywords() {
+        try {
+            loadKeywords(QuickLauncher_v2_Config.KEYWORDS_FILE);
+            if (KEYWORDS.isEmpty()) {
+                System.err.println("Warning: keywords.txt is empty or could not be loaded.");
+                scanProgress.status("Warning: keywords.txt is empty or could not be loaded.");
+            } else {
+                System.out.println("Loaded " + KEYWORDS.size() + " keywords from keywords.txt");
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading keywords.txt: " + e.getMessage());
+            scanProgress.status("Error loading keywords.txt: " + e.getMessage());
+        }
+    }
+
+    // Created on the first wiki lookup; building an HttpClient is not worth delaying startup for.
+    private static final class PageProbeHolder {
+        static final QuickLauncher_v2_PageProbe PAGE_PROBE = new QuickLauncher_v2_PageProbe(
+            QuickLauncher_v2_PageProbe.newClient(Duration.ofMillis(QuickLauncher_v2_Config.WIKI_PROBE_TIMEOUT_MS)),
+            Duration.ofMillis(QuickLauncher_v2_Config.WIKI_PROBE_TIMEOUT_MS),
+            TimeUnit.MINUTES.toMillis(QuickLauncher_v2_Config.WIKI_CACHE_POSITIVE_MINUTES),
+            TimeUnit.MINUTES.toMillis(QuickLauncher_v2_Config.WIKI_CACHE_NEGATIVE_MINUTES));
+    }
+
+    // The holders below are built on first use, from executor tasks or a first search or launch, so
+    // the file system probes and threads behind them stay off the path to the first frame.
+    private static final class LauncherRootsHolder {
+        static final java.util.List<Path> LAUNCHER_ROOTS = launcherRoots();
+    }
+
+    private static final class LauncherWatcherHolder {
+        static final QuickLauncher_v2_LauncherWatcher LAUNCHER_WATCHER = new QuickLauncher_v2_LauncherWatcher(
+            LauncherRootsHolder.LAUNCHER_ROOTS, QuickLauncher_v2_Config.WATCH_MAX_KEYS, trigramIndex::add);
+    }
+
+    private static final class ManifestCatalogHolder {
+        static final QuickLauncher_v2_ManifestCatalog MANIFEST_CATALOG = new QuickLauncher_v2_ManifestCatalog(
+            manifestDirs(QuickLauncher_v2_Config.MANIFEST_STEAM_DIRS), manifestDirs(QuickLauncher_v2_Config.MANIFEST_EPIC_DIRS),
+            manifestDirs(QuickLauncher_v2_Config.MANIFEST_XBOX_DIRS));
+    }
+
+    private static final class ProcessTableHolder {
+        static final QuickLauncher_v2_ProcessTable PROCESS_TABLE = new QuickLauncher_v2_ProcessTable(
+            QuickLauncher_v2_ProcessTable.PROCESS_HANDLE_PROBE, QuickLauncher_v2_Config.PROCESS_REFRESH_MS);
+    }
+
+    private static final class LaunchPipelineHolder {
+        static final QuickLauncher_v2_LaunchPipeline LAUNCH_PIPELINE = new QuickLauncher_v2_LaunchPipeline(
+            QuickLauncher_v2_Config.LAUNCH_STEP_TIMEOUT_MS, SwingUtilities::invokeLater);
+    }
+
+    private static final class DaemonHolder {
+        static final QuickLauncher_v2_Daemon DAEMON = new QuickLauncher_v2_Daemon(
+            Paths.get(QuickLauncher_v2_Config.DAEMON_SOCKET), daemonCommands());
+    }
+
     public static void createAndShowGUI() {
         frame = new JFrame("Quick Launcher v2");
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setDefaultCloseOperation(resident ? JFrame.HIDE_ON_CLOSE : JFrame.EXIT_ON_CLOSE);
         frame.setMinimumSize(new Dimension(1000, 150));
         frame.setResizable(false);
 
-        JPanel mainPanel = new JPanel(new GridBagLayout());
+        JPanel mainPanel = new JPanel(new GridBagLayout()) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                if (firstFrame.complete(null)) {
+                    QuickLauncher_v2_StartupTrace.mark("first-frame");
+                }
+            }
+        };
         mainPanel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(0, 5, 2, 5);
@@ -91,6 +248,38 @@ public class QuickLauncher_v2 {
         gameNameField.setPreferredSize(new Dimension(400, 25));
         mainPanel.add(gameNameField, gbc);
 
+        suggestionModel = new DefaultListModel<>();
+        suggestionList = new JList<>(suggestionModel);
+        suggestionList.setFocusable(false);
+        suggestionList.setVisibleRowCount(SUGGESTION_LIMIT);
+        suggestionList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = suggestionList.locationToIndex(e.getPoint());
+                if (index >= 0) {
+                    acceptSuggestion(suggestionModel.get(index));
+                }
+            }
+        });
+        suggestionPopup = new JPopupMenu();
+        suggestionPopup.setFocusable(false);
+        suggestionPopup.add(suggestionList);
+        gameNameField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                SwingUtilities.invokeLater(QuickLauncher_v2::updateSuggestions);
+            }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                SwingUtilities.invokeLater(QuickLauncher_v2::updateSuggestions);
+            }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+            }
+        });
+
         gbc.gridy = 1;
         gbc.gridx = 0;
         gbc.gridwidth = 2;
@@ -117,12 +306,18 @@ public class QuickLauncher_v2 {
         mainPanel.add(statusLabel, gbc);
 
         gbc.gridy = 3;
+        progressBar = new JProgressBar();
+        progressBar.setPreferredSize(new Dimension(400, 18));
+        mainPanel.add(progressBar, gbc);
+        scanProgress.start(QuickLauncher_v2_Config.UPDATE_INTERVAL_MS, progressBar, QuickLauncher_v2::setTruncatedStatus);
+
+        gbc.gridy = 4;
         exeComboBox = new JComboBox<>();
         exeComboBox.setVisible(false);
         mainPanel.add(exeComboBox, gbc);
 
         frame.add(mainPanel);
-        gbc.gridy = 4;
+        gbc.gridy = 5;
         gbc.weighty = 1.0;
         mainPanel.add(Box.createVerticalGlue(), gbc);
 
@@ -130,7 +325,31 @@ public class QuickLauncher_v2 {
         gameNameField.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
+                if (suggestionPopup.isVisible()) {
+                    int selected = suggestionList.getSelectedIndex();
+                    if (e.getKeyCode() == KeyEvent.VK_DOWN) {
+                        suggestionList.setSelectedIndex(Math.min(selected + 1, suggestionModel.size() - 1));
+                        e.consume();
+                        return;
+                    } else if (e.getKeyCode() == KeyEvent.VK_UP) {
+                        if (selected <= 0) {
+                            suggestionList.clearSelection();
+                        } else {
+                            suggestionList.setSelectedIndex(selected - 1);
+                        }
+                        e.consume();
+                        return;
+                    } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                        suggestionPopup.setVisible(false);
+                        return;
+                    } else if (e.getKeyCode() == KeyEvent.VK_ENTER && selected >= 0) {
+                        acceptSuggestion(suggestionModel.get(selected));
+                        e.consume();
+                        return;
+                    }
+                }
                 if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    suggestionPopup.setVisible(false);
                     handleSearchAction();
                 }
             }
@@ -146,45 +365,110 @@ public class QuickLauncher_v2 {
                 setTruncatedStatus("Select a path from the dropdown . ");
                 return;
             }
-            String processName = new File(path).getName();
-            if (isProcessRunning(processName)) {
-                setTruncatedStatus("Game is already running: " + processName);
-                confirmButton.setEnabled(false);
-                cancelButton.setEnabled(false);
-                exeComboBox.setVisible(false);
-                searchResults = null;
-                gameNameField.setText("");
-                processNextSearch();
-                return;
-            }
-            try {
-                Desktop.getDesktop().open(new File(path));
-                setTruncatedStatus("Launched: " + path);
-                saveKeyword(currentGameName, path);
-            } catch (IOException ex) {
-                setTruncatedStatus("Error launching: " + path);
-                ex.printStackTrace();
+            if (cancelButton.isEnabled()) {
+                // Launching from streamed results; the rest of the scan is no longer needed.
+                currentSearch.cancel();
+                searchGeneration++;
+                searchButton.setEnabled(true);
             }
+            String gameName = currentGameName;
             confirmButton.setEnabled(false);
             cancelButton.setEnabled(false);
             exeComboBox.setVisible(false);
             searchResults = null;
             gameNameField.setText("");
-            processNextSearch();
+            setTruncatedStatus("Launching: " + path);
+            // The next queued search starts once the launch has been reported
+            LaunchPipelineHolder.LAUNCH_PIPELINE.submit(path, () -> {
+                String processName = new File(path).getName();
+                if (isProcessRunning(processName)) {
+                    return () -> {
+                        setTruncatedStatus("Game is already running: " + processName);
+                        processNextSearch();
+                    };
+                }
+                Desktop.getDesktop().open(new File(path));
+                return () -> {
+                    setTruncatedStatus("Launched: " + path);
+                    saveKeyword(gameName, path);
+                    launchHistory.record(gameName, new File(path).getAbsolutePath());
+                    processNextSearch();
+                };
+            }, (name, error) -> () -> {
+                launchFailed("Error launching: ", name, error).run();
+                processNextSearch();
+            });
         });
         cancelButton.addActionListener(e -> {
-            searchCancelled = true; // Signal cancellation
+            if (currentSearch != null) {
+                currentSearch.cancel();
+            }
             searchQueue.clear(); // Clear pending searches
+            batchResults.clear();
             cancelButton.setEnabled(false);
             searchButton.setEnabled(true);
             setTruncatedStatus("Search cancelled.");
         });
 
         frame.pack();
+        frame.setVisible(!resident); // A resident launcher waits for a "show" request
+        if (resident) {
+            firstFrame.complete(null); // Nothing to paint until shown
+        }
+        QuickLauncher_v2_StartupTrace.mark("window-built");
+    }
+
+    private static void showWindow() {
+        if (frame == null) {
+            return; // Headless
+        }
         frame.setVisible(true);
+        frame.setState(Frame.NORMAL);
+        frame.toFront();
+        gameNameField.requestFocusInWindow();
+    }
+
+    // Suggests aliases for the sub-command being typed (the text after the last double space).
+    private static void updateSuggestions() {
+        String text = gameNameField.getText();
+        int split = text.lastIndexOf("  ");
+        String prefix = (split >= 0 ? text.substring(split + 2) : text).stripLeading().toLowerCase();
+        if (prefix.isEmpty()) {
+            suggestionPopup.setVisible(false);
+            return;
+        }
+        long start = System.nanoTime();
+        java.util.List<String> suggestions = keywordTrie.suggest(prefix, SUGGESTION_LIMIT);
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > TYPEAHEAD_BUDGET_NANOS) { // Runs on the EDT per keystroke, so never to the console
+            eventLog.log(QuickLauncher_v2_EventLog.Level.DEBUG, "Typeahead lookup over budget", prefix, elapsed / 1000 + " us");
+        }
+        if (suggestions.isEmpty() || (suggestions.size() == 1 && suggestions.get(0).equals(prefix))) {
+            suggestionPopup.setVisible(false);
+            return;
+        }
+        suggestionModel.clear();
+        suggestionModel.addAll(suggestions);
+        suggestionList.clearSelection();
+        suggestionPopup.setPopupSize(gameNameField.getWidth(), suggestionList.getPreferredSize().height + 4);
+        if (!suggestionPopup.isVisible()) {
+            suggestionPopup.show(gameNameField, 0, gameNameField.getHeight());
+            gameNameField.requestFocusInWindow();
+        }
+    }
+
+    private static void acceptSuggestion(String alias) {
+        String text = gameNameField.getText();
+        int split = text.lastIndexOf("  ");
+        gameNameField.setText((split >= 0 ? text.substring(0, split + 2) : "") + alias);
+        suggestionPopup.setVisible(false);
+        gameNameField.requestFocusInWindow();
     }
 
     private static void setTruncatedStatus(String text) {
+        if (statusLabel == null) {
+            return; // Headless: daemon requests are answered over the socket only
+        }
         if (text != null && text.length() > 200) {
             text = text.substring(0, 197) + "...";
         }
@@ -197,18 +481,23 @@ public class QuickLauncher_v2 {
             setTruncatedStatus("Enter a game name or command.");
             return;
         }
+        if (!keywordsLoaded.isDone()) {
+            setTruncatedStatus("Loading keywords...");
+            keywordsLoaded.thenRun(() -> SwingUtilities.invokeLater(QuickLauncher_v2::handleSearchAction));
+            return;
+        }
         gameNameField.setText(""); // Clear the text field immediately
-        input = input.trim();
-        String[] subCommands = input.contains("  ") ? input.split("\\s{2,}") : new String[]{input};
+        String[] subCommands = splitSubCommands(input);
 
         searchQueue.clear();
+        batchResults.clear();
         java.util.List<String> immediateLaunches = new ArrayList<>();
 
         for (String subCommand : subCommands) {
             String[] parts = subCommand.trim().split("\\s+", 2);
             String keyword = parts[0].toLowerCase();
             String argument = parts.length > 1 ? parts[1].trim() : "";
-            String target = KEYWORD_MAP.get(keyword);
+            String target = KEYWORDS.get(keyword);
 
             if (target != null) {
                 immediateLaunches.add(subCommand);
@@ -217,17 +506,26 @@ public class QuickLauncher_v2 {
             }
         }
 
+        // Keyword commands are independent of each other and of the searches, so they all start at once
+        java.util.List<QuickLauncher_v2_LaunchPipeline.Step> commands = new ArrayList<>();
         for (String subCommand : immediateLaunches) {
             String[] parts = subCommand.trim().split("\\s+", 2);
             String keyword = parts[0].toLowerCase();
             String argument = parts.length > 1 ? parts[1].trim() : "";
-            String target = KEYWORD_MAP.get(keyword);
-            processCommand(keyword, argument, target);
+            String target = KEYWORDS.get(keyword);
+            commands.add(commandStep(keyword, argument, target));
         }
+        LaunchPipelineHolder.LAUNCH_PIPELINE.fanOut(immediateLaunches, commands, (name, error) -> launchFailed("Error processing command: ", name, error));
 
         processNextSearch();
     }
 
+    // Sub-commands are separated by two or more spaces; a single space separates a keyword from its argument.
+    static String[] splitSubCommands(String input) {
+        input = input.trim();
+        return input.contains("  ") ? input.split("\\s{2,}") : new String[]{input};
+    }
+
     private static void processNextSearch() {
         if (searchQueue.isEmpty()) {
             searchButton.setEnabled(true);
@@ -239,77 +537,281 @@ public class QuickLauncher_v2 {
         String[] parts = subCommand.trim().split("\\s+", 2);
         String keyword = parts[0].toLowerCase();
         String argument = parts.length > 1 ? parts[1].trim() : "";
-        currentGameName = subCommand.replaceAll("[<>:\"/\\\\|?*]", "");
+        currentGameName = searchName(subCommand);
         if (currentGameName.isEmpty()) {
             setTruncatedStatus("Invalid game name: " + subCommand);
             processNextSearch();
             return;
         }
-        currentGameName = currentGameName.toLowerCase();
         String normalizedGameName = currentGameName.replaceAll("\\s+", "");
-        String cachedPath = KEYWORD_MAP.get(normalizedGameName);
-        if (cachedPath != null && Files.exists(Paths.get(cachedPath))) {
+        String cachedPath = KEYWORDS.get(normalizedGameName);
+        if (cachedPath == null) {
+            searchOrShowBatched(currentGameName, normalizedGameName);
+            return;
+        }
+        String gameName = currentGameName;
+        searchButton.setEnabled(false);
+        LaunchPipelineHolder.LAUNCH_PIPELINE.submit(cachedPath, () -> {
+            if (!Files.exists(Paths.get(cachedPath))) {
+                return () -> searchOrShowBatched(gameName, normalizedGameName); // findGameExecutables drops the stale entry
+            }
             String processName = new File(cachedPath).getName();
             if (isProcessRunning(processName)) {
-                setTruncatedStatus("Game is already running: " + processName);
-                gameNameField.setText("");
-                processNextSearch();
-                return;
+                return () -> {
+                    setTruncatedStatus("Game is already running: " + processName);
+                    gameNameField.setText("");
+                    processNextSearch();
+                };
             }
-            try {
-                Desktop.getDesktop().open(new File(cachedPath));
+            Desktop.getDesktop().open(new File(cachedPath));
+            launchHistory.record(gameName, cachedPath);
+            return () -> {
                 setTruncatedStatus("Launched cached path: " + cachedPath);
                 gameNameField.setText("");
-            } catch (IOException e) {
-                setTruncatedStatus("Error launching cached path: " + cachedPath);
-                e.printStackTrace();
-            }
+                processNextSearch();
+            };
+        }, (name, error) -> () -> {
+            launchFailed("Error launching cached path: ", name, error).run();
             processNextSearch();
+        });
+    }
+
+    private static void searchOrShowBatched(String gameName, String normalizedGameName) {
+        currentGameName = gameName;
+        RankedResults batched = batchResults.remove(gameName);
+        if (batched != null) {
+            showBatchedResults(batched);
             return;
         }
-        startSearch(currentGameName, normalizedGameName);
+        startSearch(gameName, normalizedGameName);
     }
 
-    private static void processCommand(String keyword, String argument, String targetTemplate) {
-        try {
-            boolean isWiki = WIKI_PATTERN.matcher(targetTemplate).find();
-            String target;
-
-            if (targetTemplate.contains("{}")) {
-                String urlArgument = isWiki
-                        ? capitalizeUnderscoreSeparatedWords(argument.replace(" ", "_"))
-                        : argument;
-
-                if (urlArgument.isEmpty()) {
-                    try {
-                        URI uri = new URI(targetTemplate.replace("{}", ""));
-                        String baseUrl = uri.getScheme() + "://" + uri.getHost();
-                        if (uri.getPath().contains("/search") || uri.getQuery() != null) {
-                            target = baseUrl;
-                        } else {
-                            target = targetTemplate.replace("{}", "").replaceAll("/+$", "");
-                        }
-                    } catch (Exception e) {
-                        target = targetTemplate.replace("{}", "").replaceAll("/+$", "");
-                    }
-                } else {
-                    target = targetTemplate.replace("{}", encodeURIComponent(urlArgument));
-                }
-            } else {
-                target = targetTemplate;
+    private static String searchName(String subCommand) {
+        return subCommand.replaceAll("[<>:\"/\\\\|?*]", "").toLowerCase();
+    }
+
+    // Queued searches that will need a scan too, so the current traversal can match them as well.
+    private static java.util.List<SearchQuery> pendingSearchQueries(String currentName) {
+        java.util.List<SearchQuery> pending = new ArrayList<>();
+        Set<String> seen = new HashSet<>(Collections.singleton(currentName));
+        for (String subCommand : searchQueue) {
+            String name = searchName(subCommand);
+            String normalized = name.replaceAll("\\s+", "");
+            if (name.isEmpty() || KEYWORDS.containsKey(normalized) || !seen.add(name)) {
+                continue;
+            }
+            if (pending.size() + 1 >= QuickLauncher_v2_MultiPatternMatcher.MAX_PATTERNS / 2) {
+                break;
+            }
+            pending.add(new SearchQuery(name, normalized));
+        }
+        return pending;
+    }
+
+    private static void showBatchedResults(RankedResults found) {
+        exeComboBox.setVisible(false);
+        exeComboBox.removeAllItems();
+        searchResults = new ArrayList<>();
+        updateSearchResults(++searchGeneration, null, found, null);
+    }
+
+    private static QuickLauncher_v2_LaunchPipeline.Step commandStep(String keyword, String argument, String targetTemplate) {
+        return () -> {
+            String status = openCommand(keyword, argument, targetTemplate);
+            return () -> setTruncatedStatus(status);
+        };
+    }
+
+    // Opens a keyword's target and returns the status to show; blocks on the wiki probe, so never on the EDT.
+    private static String openCommand(String keyword, String argument, String targetTemplate) throws Exception {
+        String target = expandTarget(targetTemplate, argument);
+        if (WIKI_PATTERN.matcher(targetTemplate).find() && !argument.isEmpty() && !PageProbeHolder.PAGE_PROBE.probe(target).get()) {
+            // Fall back to a web search when the wiki has no such page
+            target = "https://www.google.com/search?q=" + encodeURIComponent(extractWikiName(targetTemplate) + " wiki " + argument);
+        }
+        openTarget(target);
+        saveKeyword(keyword + (argument.isEmpty() ? "" : " " + argument), target);
+        launchHistory.record((keyword + (argument.isEmpty() ? "" : " " + argument)).toLowerCase(), target);
+        return "Opened: " + target;
+    }
+
+    private static Runnable launchFailed(String message, String name, Throwable error) {
+        String status = failureStatus(message, name, error);
+        return () -> setTruncatedStatus(status);
+    }
+
+    private static String failureStatus(String message, String name, Throwable error) {
+        if (error instanceof TimeoutException) {
+            System.err.println("Timed out after " + QuickLauncher_v2_Config.LAUNCH_STEP_TIMEOUT_MS + " ms: " + name);
+            return "Timed out: " + name;
+        }
+        System.err.println(message + name + ", error: " + error);
+        return message + name;
+    }
+
+    private static Map<String, java.util.function.Function<String, String>> daemonCommands() {
+        Map<String, java.util.function.Function<String, String>> commands = new LinkedHashMap<>();
+        commands.put("launch", QuickLauncher_v2::daemonLaunch);
+        commands.put("query", QuickLauncher_v2::daemonQuery);
+        commands.put("show", argument -> {
+            if (GraphicsEnvironment.isHeadless()) {
+                throw new IllegalStateException("No window to show, the launcher is running headless.");
             }
+            SwingUtilities.invokeLater(QuickLauncher_v2::showWindow);
+            return "Shown";
+        });
+        return commands;
+    }
 
-            if (isWiki && !argument.isEmpty() && !isPageAvailable(target)) {
-                String wikiName = extractWikiName(targetTemplate);
-                target = "https://www.google.com/search?q=" + encodeURIComponent(wikiName + " wiki " + argument);
+    // "launch" request: keywords and remembered games open right away; anything else is searched for off the window
+    // and its best-ranked match is launched.
+    private static String daemonLaunch(String input) {
+        keywordsLoaded.join(); // Requests can arrive while the launcher is still starting
+        if (input.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to launch.");
+        }
+        String[] subCommands = splitSubCommands(input);
+        String[] replies = new String[subCommands.length];
+        java.util.concurrent.atomic.AtomicBoolean failed = new java.util.concurrent.atomic.AtomicBoolean();
+        java.util.List<CompletableFuture<Void>> launches = new ArrayList<>();
+        java.util.List<Integer> searches = new ArrayList<>();
+        for (int i = 0; i < subCommands.length; i++) {
+            int slot = i;
+            String subCommand = subCommands[i];
+            String[] parts = subCommand.trim().split("\\s+", 2);
+            String keyword = parts[0].toLowerCase();
+            String argument = parts.length > 1 ? parts[1].trim() : "";
+            String target = KEYWORDS.get(keyword);
+            String cachedPath = KEYWORDS.get(searchName(subCommand).replaceAll("\\s+", ""));
+            if (target == null && cachedPath == null) {
+                searches.add(slot);
+                continue;
+            }
+            launches.add(LaunchPipelineHolder.LAUNCH_PIPELINE.submit(subCommand, () -> {
+                String status = target != null ? openCommand(keyword, argument, target) : launchPath(searchName(subCommand).trim(), cachedPath);
+                replies[slot] = status;
+                return () -> setTruncatedStatus(status);
+            }, (name, error) -> {
+                failed.set(true);
+                replies[slot] = failureStatus("Error launching: ", name, error);
+                return () -> setTruncatedStatus(replies[slot]);
+            }));
+        }
+        // Searched one after another while the launches above run; the window's own search is left alone
+        for (int slot : searches) {
+            String subCommand = subCommands[slot];
+            String gameName = searchName(subCommand).trim();
+            RankedResults found = gameName.isEmpty() ? RankedResults.NONE : daemonSearch(gameName);
+            String exact = found.matches.stream()
+                    .filter(path -> isExactLauncherMatch(path, gameName.replaceAll("\\s+", "")))
+                    .findFirst().orElse(null);
+            if (exact == null && found.matches.size() != 1) {
+                // Nobody is there to confirm a guess: the client gets the candidates instead
+                failed.set(true);
+                java.util.List<String> candidates = found.all();
+                replies[slot] = gameName.isEmpty() ? "Invalid game name: " + subCommand
+                        : candidates.isEmpty() ? "No executables found for " + gameName
+                        : "Not launched, " + candidates.size() + (found.matches.isEmpty() ? " similar names" : " matches")
+                            + " for " + gameName + ":\n" + String.join("\n", candidates);
+                continue;
             }
+            String path = exact != null ? exact : found.matches.get(0);
+            launches.add(LaunchPipelineHolder.LAUNCH_PIPELINE.submit(subCommand, () -> {
+                String status = launchPath(gameName, path);
+                replies[slot] = status;
+                return () -> setTruncatedStatus(status);
+            }, (name, error) -> {
+                failed.set(true);
+                replies[slot] = failureStatus("Error launching: ", name, error);
+                return () -> setTruncatedStatus(replies[slot]);
+            }));
+        }
+        try {
+            CompletableFuture.allOf(launches.toArray(new CompletableFuture<?>[0]))
+                    .get(2 * QuickLauncher_v2_Config.LAUNCH_STEP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while launching.");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Launch did not finish: " + e);
+        }
+        String reply = String.join("\n", replies);
+        if (failed.get()) {
+            throw new IllegalStateException(reply);
+        }
+        return reply;
+    }
+
+    // Opens a remembered executable for query unless it is already running; returns the status to show.
+    private static String launchPath(String query, String path) throws IOException {
+        String processName = new File(path).getName();
+        if (isProcessRunning(processName)) {
+            return "Game is already running: " + processName;
+        }
+        if (!Files.exists(Paths.get(path))) {
+            throw new FileNotFoundException(path);
+        }
+        Desktop.getDesktop().open(new File(path));
+        launchHistory.record(query, new File(path).getAbsolutePath());
+        return "Launched: " + path;
+    }
+
+    // A daemon request's own search: no window state, no progress shown, and no batch of queued names.
+    private static RankedResults daemonSearch(String gameName) {
+        QuickLauncher_v2_SearchHandle search = new QuickLauncher_v2_SearchHandle(gameName, QuickLauncher_v2_Config.SEARCH_TIME_BUDGET_MS);
+        return findGameExecutables(gameName, gameName.replaceAll("\\s+", ""), Collections.emptyList(), search,
+            search::shouldStop, path -> { }, daemonProgress);
+    }
 
-            openTarget(target);
-            setTruncatedStatus("Opened: " + target);
-            saveKeyword(keyword + (argument.isEmpty() ? "" : " " + argument), target);
+    // "query" request: what is already known for a name (keywords, manifests, launcher dirs, index), best first.
+    private static String daemonQuery(String name) {
+        keywordsLoaded.join(); // Requests can arrive while the launcher is still starting
+        String originalName = searchName(name);
+        String normalizedName = originalName.replaceAll("\\s+", "");
+        if (originalName.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to query.");
+        }
+        Set<String> known = new LinkedHashSet<>();
+        String cachedPath = KEYWORDS.get(normalizedName);
+        if (cachedPath != null) {
+            known.add(cachedPath);
+        }
+        known.addAll(ManifestCatalogHolder.MANIFEST_CATALOG.find(originalName, normalizedName));
+        known.addAll(LauncherWatcherHolder.LAUNCHER_WATCHER.find(originalName, normalizedName));
+        java.util.List<String> indexed = executableIndex.find(originalName, normalizedName);
+        if (indexed != null) {
+            known.addAll(indexed);
+        }
+        java.util.List<String> ranked = rankResults(known, originalName).all();
+        if (ranked.isEmpty()) {
+            throw new IllegalStateException("No executables known for " + name);
+        }
+        return String.join("\n", ranked);
+    }
+
+    // Substitutes the argument into the keyword's "{}" placeholder; without an argument a search URL falls back to its site.
+    static String expandTarget(String targetTemplate, String argument) {
+        if (!targetTemplate.contains("{}")) {
+            return targetTemplate;
+        }
+        boolean isWiki = WIKI_PATTERN.matcher(targetTemplate).find();
+        String urlArgument = isWiki
+                ? capitalizeUnderscoreSeparatedWords(argument.replace(" ", "_"))
+                : argument;
+
+        if (!urlArgument.isEmpty()) {
+            return targetTemplate.replace("{}", encodeURIComponent(urlArgument));
+        }
+        try {
+            URI uri = new URI(targetTemplate.replace("{}", ""));
+            String baseUrl = uri.getScheme() + "://" + uri.getHost();
+            if (uri.getPath().contains("/search") || uri.getQuery() != null) {
+                return baseUrl;
+            }
         } catch (Exception e) {
-            SwingUtilities.invokeLater(() -> setTruncatedStatus("Error processing command: " + e.getMessage()));
+            // Not a URL; strip the placeholder below
         }
+        return targetTemplate.replace("{}", "").replaceAll("/+$", "");
     }
 
     private static String extractWikiName(String url) {
@@ -335,54 +837,22 @@ public class QuickLauncher_v2 {
         return result.toString();
     }
 
-    private static boolean isPageAvailable(String urlString) {
-        try {
-            HttpURLConnection connection = (HttpURLConnection) new URL(urlString).openConnection();
-            connection.setRequestMethod("HEAD");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-            return connection.getResponseCode() == 200;
-        } catch (IOException e) {
-            return false;
-        }
-    }
-
     private static String encodeURIComponent(String s) {
         return URLEncoder.encode(s, StandardCharsets.UTF_8)
                 .replace("+", "%20");
     }
 
-    private static void openTarget(String target) {
-        try {
-            if (target.startsWith("https://") || target.startsWith("http://")) {
-                Desktop.getDesktop().browse(new URI(target));
-            } else {
-                File file = new File(target);
-                Desktop.getDesktop().open(file);
-            }
-        } catch (Exception e) {
-            SwingUtilities.invokeLater(() -> setTruncatedStatus("Error opening target: " + target));
-            e.printStackTrace();
+    private static void openTarget(String target) throws IOException, URISyntaxException {
+        if (target.startsWith("https://") || target.startsWith("http://")) {
+            Desktop.getDesktop().browse(new URI(target));
+        } else {
+            File file = new File(target);
+            Desktop.getDesktop().open(file);
         }
     }
 
     private static boolean isProcessRunning(String processName) {
-        try {
-            Process process = new ProcessBuilder("tasklist", "/FI", "IMAGENAME eq " + processName).start();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.toLowerCase().contains(processName.toLowerCase())) {
-                        return true;
-                    }
-                }
-            }
-            process.waitFor();
-        } catch (IOException | InterruptedException e) {
-            System.err.println("Error checking process: " + processName);
-            e.printStackTrace();
-        }
-        return false;
+        return ProcessTableHolder.PROCESS_TABLE.isRunning(processName);
     }
 
     private static void startSearch(String originalGameName, String normalizedGameName) {
@@ -390,21 +860,97 @@ public class QuickLauncher_v2 {
         confirmButton.setEnabled(false);
         cancelButton.setEnabled(true);
         exeComboBox.setVisible(false);
-        searchCancelled = false; // Reset cancellation flag
+        exeComboBox.removeAllItems();
+        searchResults = new ArrayList<>();
         setTruncatedStatus("Searching for " + currentGameName + " on all drives...");
-        fileCount = 0;
-        lastUpdateTime = 0;
 
+        if (currentSearch != null) {
+            currentSearch.cancel(); // Superseded
+        }
+        QuickLauncher_v2_SearchHandle search = new QuickLauncher_v2_SearchHandle(originalGameName, QuickLauncher_v2_Config.SEARCH_TIME_BUDGET_MS);
+        currentSearch = search;
+        int generation = ++searchGeneration;
+        java.util.concurrent.atomic.AtomicReference<String> exactMatch = new java.util.concurrent.atomic.AtomicReference<>();
+        java.util.List<SearchQuery> batch = pendingSearchQueries(originalGameName);
         executor.submit(() -> {
-            searchResults = findGameExecutables(originalGameName, normalizedGameName);
-            SwingUtilities.invokeLater(() -> updateSearchResults());
+            RankedResults found;
+            try {
+                found = findGameExecutables(originalGameName, normalizedGameName, batch, search,
+                    () -> search.shouldStop() || exactMatch.get() != null,
+                    path -> {
+                        if (QuickLauncher_v2_Config.STOP_ON_EXACT_MATCH && isExactLauncherMatch(path, normalizedGameName)) {
+                            exactMatch.compareAndSet(null, path); // The first one stops the scan
+                        }
+                        SwingUtilities.invokeLater(() -> addSearchResult(generation, path));
+                    }, scanProgress);
+            } catch (RuntimeException e) {
+                // Nothing else would tell the window, which would stay in its searching state
+                System.err.println("Search for " + originalGameName + " failed: " + e);
+                found = RankedResults.NONE;
+            }
+            RankedResults results = found;
+            SwingUtilities.invokeLater(() -> updateSearchResults(generation, search, results, exactMatch.get()));
         });
     }
 
-    private static void updateSearchResults() {
+    private static boolean isExactLauncherMatch(String path, String normalizedGameName) {
+        Path file = Paths.get(path);
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String baseName = (dot > 0 ? fileName.substring(0, dot) : fileName).replaceAll("\\s+", "");
+        if (!baseName.equalsIgnoreCase(normalizedGameName)) {
+            return false;
+        }
+        return LauncherRootsHolder.LAUNCHER_ROOTS.stream().anyMatch(file::startsWith);
+    }
+
+    // Streams a match into the dropdown while the scan is still running so it can be launched right away.
+    private static void addSearchResult(int generation, String path) {
+        if (generation != searchGeneration || searchResults == null || searchResults.contains(path)) {
+            return;
+        }
+        searchResults.add(path);
+        exeComboBox.addItem(path);
+        confirmButton.setEnabled(true);
+        if (searchResults.size() == 1) {
+            setTruncatedStatus("Path: " + path + " (still searching...)");
+        } else {
+            exeComboBox.setVisible(true);
+            setTruncatedStatus(searchResults.size() + " executables found so far for " + currentGameName + "...");
+        }
+    }
+
+    // search is null for results that needed no scan of their own.
+    private static void updateSearchResults(int generation, QuickLauncher_v2_SearchHandle search, RankedResults found,
+                                            String exactMatch) {
+        if (generation != searchGeneration) {
+            return; // Superseded by a launch or a newer search
+        }
+        scanProgress.discardStatus(); // The outcome below replaces anything the search still wanted to say
         searchButton.setEnabled(true);
         cancelButton.setEnabled(false);
-        if (searchCancelled) {
+        // Re-list in ranked order, keeping anything the user already selected from the streamed results; suggestions
+        // go last and are not counted as matches.
+        Object selected = exeComboBox.getSelectedItem();
+        Set<String> ranked = new LinkedHashSet<>(found.matches);
+        ranked.addAll(searchResults);
+        int matches = ranked.size();
+        ranked.addAll(found.suggestions);
+        searchResults = new ArrayList<>(ranked);
+        exeComboBox.removeAllItems();
+        searchResults.forEach(exeComboBox::addItem);
+        if (selected != null && searchResults.contains(selected)) {
+            exeComboBox.setSelectedItem(selected);
+        }
+        if (exactMatch != null) {
+            setTruncatedStatus("Exact match found, stopped searching. Path: " + exactMatch);
+            exeComboBox.setSelectedItem(exactMatch); // Launch starts the path shown
+            exeComboBox.setVisible(searchResults.size() > 1);
+            confirmButton.setEnabled(true);
+            gameNameField.setText("");
+            return;
+        }
+        if (search != null && search.isCancelled()) {
             setTruncatedStatus("Search cancelled.");
             searchResults = null;
             exeComboBox.setVisible(false);
@@ -412,17 +958,35 @@ public class QuickLauncher_v2 {
             processNextSearch();
             return;
         }
+        if (search != null && search.isResumable()) {
+            // Out of time: show what was found so far and leave the name in the field, so searching again continues the scan
+            String stopped = " (stopped after " + QuickLauncher_v2_Config.SEARCH_TIME_BUDGET_MS + " ms, search again to continue)";
+            if (matches == 0 && !searchQueue.isEmpty()) {
+                processNextSearch();
+                return;
+            }
+            setTruncatedStatus((matches == 0 ? "Nothing found yet for " : matches + " found so far for ")
+                    + currentGameName + stopped);
+            exeComboBox.setVisible(searchResults.size() > 1);
+            confirmButton.setEnabled(!searchResults.isEmpty());
+            gameNameField.setText(search.name());
+            return;
+        }
         if (searchResults.isEmpty()) {
             setTruncatedStatus("No executables found for " + currentGameName);
             processNextSearch();
-        } else if (searchResults.size() == 1) {
+        } else if (matches == 0) {
+            setTruncatedStatus("No executables named " + currentGameName + ". Similar names:");
+            exeComboBox.setVisible(true);
+            confirmButton.setEnabled(true);
+            gameNameField.setText("");
+        } else if (matches == 1) {
             setTruncatedStatus("Path: " + searchResults.get(0));
+            exeComboBox.setSelectedItem(searchResults.get(0)); // Launch starts the path shown, not a suggestion
             confirmButton.setEnabled(true);
             gameNameField.setText("");
         } else {
             setTruncatedStatus("Multiple executables found for " + currentGameName + ". Select one to launch:");
-            exeComboBox.removeAllItems();
-            searchResults.forEach(exeComboBox::addItem);
             exeComboBox.setVisible(true);
             confirmButton.setEnabled(true);
             gameNameField.setText("");
@@ -433,31 +997,44 @@ public class QuickLauncher_v2 {
         File file = new File(fileName);
         if (!file.exists()) {
             System.err.println("keywords.txt not found at: " + file.getAbsolutePath());
-            SwingUtilities.invokeLater(() -> setTruncatedStatus("keywords.txt not found at: " + file.getAbsolutePath()));
+            scanProgress.status("keywords.txt not found at: " + file.getAbsolutePath());
             return;
         }
+        QuickLauncher_v2_KeywordStore.Builder keywords = new QuickLauncher_v2_KeywordStore.Builder();
+        int journaled = 0;
         try (BufferedReader reader = Files.newBufferedReader(file.toPath())) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || !line.contains("=")) continue;
-                String[] parts = line.split("=", 2);
-                if (parts.length == 2) {
-                    String[] keys = parts[0].split(",");
-                    String target = parts[1].trim();
-                    for (String key : keys) {
-                        String trimmedKey = key.trim().toLowerCase();
-                        if (!trimmedKey.isEmpty()) {
-                            KEYWORD_MAP.put(trimmedKey, target);
-                        }
-                    }
-                }
+            QuickLauncher_v2_KeywordStore.parse(reader, keywords);
+            journaled = keywordJournal.replay(keywords::put, keywords::remove);
+            if (journaled > 0) {
+                System.out.println("Replayed " + journaled + " journaled keyword changes");
             }
-            System.out.println("Keywords loaded: " + KEYWORD_MAP.keySet());
         } catch (IOException e) {
             System.err.println("Error reading keywords.txt: " + e.getMessage());
-            SwingUtilities.invokeLater(() -> setTruncatedStatus("Error reading keywords.txt: " + e.getMessage()));
+            scanProgress.status("Error reading keywords.txt: " + e.getMessage());
+        }
+        KEYWORDS.replaceAll(keywords.build());
+        if (journaled > 0) {
+            keywordJournal.compactReplayed(journaled); // Only now: compaction writes what KEYWORDS holds over keywords.txt
+        }
+        if (QuickLauncher_v2_Config.KEYWORDS_HOT_RELOAD) {
+            KEYWORDS.watch(file.toPath(), () -> readKeywords(file.toPath()));
+        }
+    }
+
+    // keywords.txt with the journaled changes not yet folded into it applied, as an edit made outside the launcher is reloaded.
+    private static QuickLauncher_v2_KeywordStore readKeywords(Path file) throws IOException {
+        QuickLauncher_v2_KeywordStore.Builder keywords = new QuickLauncher_v2_KeywordStore.Builder();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            QuickLauncher_v2_KeywordStore.parse(reader, keywords);
         }
+        keywordJournal.read(keywords::put, keywords::remove);
+        return keywords.build();
+    }
+
+    // Lines are "alias1,alias2=target"; aliases are lowercased and blank lines or lines without '=' are skipped.
+    static void parseKeywords(BufferedReader reader, java.util.function.BiConsumer<String, String> onKeyword) throws IOException {
+        QuickLauncher_v2_KeywordStore.parse(reader, (buffer, start, end, target) ->
+            onKeyword.accept(new String(buffer, start, end - start), target));
     }
 
     private static void saveKeyword(String gameName, String path) {
@@ -473,170 +1050,325 @@ public class QuickLauncher_v2 {
             return;
         }
         String absolutePath = new File(path).getAbsolutePath();
-        KEYWORD_MAP.put(gameName.toLowerCase(), absolutePath);
-
-        File keywordsFile = new File(QuickLauncher_v2_Config.KEYWORDS_FILE);
-        try (BufferedWriter writer = Files.newBufferedWriter(keywordsFile.toPath(),
-                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-            // Group keywords by target
-            Map<String, Set<String>> targetToKeys = new HashMap<>();
-            for (Map.Entry<String, String> entry : KEYWORD_MAP.entrySet()) {
-                targetToKeys.computeIfAbsent(entry.getValue(), k -> new TreeSet<>()).add(entry.getKey());
-            }
-            // Write each target with its comma-separated keywords
-            for (Map.Entry<String, Set<String>> entry : targetToKeys.entrySet()) {
-                writer.write(String.join(",", entry.getValue()) + "=" + entry.getKey());
-                writer.newLine();
-            }
-        } catch (IOException ex) {
-            SwingUtilities.invokeLater(() -> setTruncatedStatus("Error saving to keywords.txt"));
-            ex.printStackTrace();
-        }
+        KEYWORDS.put(gameName.toLowerCase(), absolutePath);
+        keywordJournal.put(gameName.toLowerCase(), absolutePath);
     }
 
-    private static java.util.List<String> findGameExecutables(String originalGameName, String normalizedGameName) {
-        java.util.Set<String> results = Collections.synchronizedSet(new HashSet<>());
+    // Searches for the current game and, in the same traversal, for the queued batch; batch results go to batchResults.
+    // Status messages and scan progress go to progress, which only the window's own searches show.
+    private static RankedResults findGameExecutables(String originalGameName, String normalizedGameName,
+                                                              java.util.List<SearchQuery> batch,
+                                                              QuickLauncher_v2_SearchHandle search,
+                                                              java.util.function.BooleanSupplier cancelled,
+                                                              java.util.function.Consumer<String> onResult,
+                                                              QuickLauncher_v2_ScanProgress progress) {
+        SearchQuery primary = new SearchQuery(originalGameName, normalizedGameName);
 
-        String cachedPath = KEYWORD_MAP.get(normalizedGameName);
+        String cachedPath = KEYWORDS.get(normalizedGameName);
         if (cachedPath != null) {
             try {
                 if (Files.exists(Paths.get(cachedPath))) {
-                    results.add(cachedPath);
-                    SwingUtilities.invokeLater(() -> setTruncatedStatus("Found in keywords: " + cachedPath));
+                    primary.results.add(cachedPath);
+                    progress.status("Found in keywords: " + cachedPath);
                 } else {
-                    SwingUtilities.invokeLater(() -> setTruncatedStatus("Cleaning invalid keyword entry, searching..."));
-                    KEYWORD_MAP.remove(normalizedGameName);
-                    saveKeyword("", ""); // Update keywords.txt to remove invalid entry
+                    progress.status("Cleaning invalid keyword entry, searching...");
+                    KEYWORDS.remove(normalizedGameName);
+                    keywordJournal.remove(normalizedGameName); // Drop the invalid entry from keywords.txt
                 }
             } catch (InvalidPathException e) {
-                KEYWORD_MAP.remove(normalizedGameName);
-                saveKeyword("", ""); // Update keywords.txt to remove invalid entry
+                KEYWORDS.remove(normalizedGameName);
+                keywordJournal.remove(normalizedGameName); // Drop the invalid entry from keywords.txt
                 System.err.println("Invalid path in keywords: " + cachedPath);
             }
         }
 
-        java.util.List<File> directoriesToSearch = new ArrayList<>(Arrays.asList(File.listRoots()));
-        java.util.List<Future<Integer>> futures = new ArrayList<>();
-        for (File dir : directoriesToSearch) {
-            if (!dir.exists() || !dir.isDirectory() || !dir.canRead()) {
-                SwingUtilities.invokeLater(() -> setTruncatedStatus("Cannot access drive: " + dir.getAbsolutePath()));
-                System.err.println("Cannot access drive: " + dir.getAbsolutePath());
-                continue;
+        java.util.List<SearchQuery> queries = new ArrayList<>();
+        queries.add(primary);
+        queries.addAll(batch);
+        boolean indexSearched = false;
+        java.util.List<SearchQuery> needScan = new ArrayList<>();
+        for (SearchQuery query : queries) {
+            // A partial name that nearly always launched the same game is answered from history without a walk
+            String remembered = launchHistory.confidentTarget(query.originalName,
+                    QuickLauncher_v2_Config.HISTORY_CONFIDENT_SHARE, QuickLauncher_v2_Config.HISTORY_CONFIDENT_SCORE);
+            boolean recalled = remembered != null && new File(remembered).exists();
+            if (recalled) {
+                query.results.add(remembered);
+            }
+            // Launcher manifests name the game and its executable directly; a hit needs no walk
+            java.util.List<String> discovered = ManifestCatalogHolder.MANIFEST_CATALOG.find(query.originalName, query.normalizedName);
+            query.results.addAll(discovered);
+            java.util.List<String> watched = LauncherWatcherHolder.LAUNCHER_WATCHER.find(query.originalName, query.normalizedName);
+            query.results.addAll(watched);
+            java.util.List<String> indexed = executableIndex.find(query.originalName, query.normalizedName);
+            if (indexed != null) {
+                query.results.addAll(indexed);
+                indexSearched = true;
+            }
+            // The index only knows what was installed when it was last refreshed, so a miss still walks; the walk
+            // then refreshes the index
+            if ((indexed == null || indexed.isEmpty()) && watched.isEmpty() && discovered.isEmpty() && !recalled) {
+                needScan.add(query);
             }
-            futures.add(executor.submit(() -> {
-                searchDrive(dir, originalGameName, normalizedGameName, results);
-                return 0;
-            }));
+        }
+        if (!needScan.contains(primary)) {
+            progress.status(indexSearched ? "Searched executable index for " + originalGameName
+                : "Found in launcher directories: " + primary.results.iterator().next());
         }
 
-        for (Future<?> future : futures) {
-            try {
-                future.get();
-            } catch (InterruptedException | ExecutionException e) {
-                e.printStackTrace();
+        QuickLauncher_v2_SearchHandle suspended = suspendedSearches.remove(normalizedGameName);
+        boolean resuming = suspended != null && needScan.contains(primary);
+        if (resuming) {
+            // Continue the scan that ran out of time; the batch waits for its own turn
+            needScan.retainAll(Collections.singleton(primary));
+            primary.results.addAll(suspended.partialResults());
+            suspended.partialResults().forEach(onResult);
+            progress.status("Resuming search for " + originalGameName + "...");
+        }
+        if (!needScan.isEmpty()) {
+            java.util.List<File> directoriesToSearch = resuming ? Collections.emptyList() : Arrays.asList(File.listRoots());
+            java.util.List<Path> startDirs = new ArrayList<>();
+            for (File dir : directoriesToSearch) {
+                if (!dir.exists() || !dir.isDirectory() || !dir.canRead()) {
+                    progress.status("Cannot access drive: " + dir.getAbsolutePath());
+                    eventLog.log(QuickLauncher_v2_EventLog.Level.WARN, "Cannot access drive", dir, null);
+                    continue;
+                }
+                searchDrive(dir, startDirs);
+            }
+            if (resuming) {
+                startDirs.addAll(suspended.remaining());
+            }
+            progress.begin(!resuming);
+            java.util.List<Path> unfinished = searchDirectories(startDirs, resuming, needScan, cancelled, path -> {
+                if (needScan.get(0) == primary) {
+                    onResult.accept(path);
+                }
+            }, progress);
+            progress.finish(!resuming, unfinished.isEmpty() && !cancelled.getAsBoolean());
+            if (!unfinished.isEmpty() && needScan.get(0) == primary && !search.isCancelled() && search.isExpired()) {
+                search.suspend(unfinished, primary.results);
+                suspendedSearches.put(normalizedGameName, search);
+            }
+            if (!cancelled.getAsBoolean()) {
+                executor.submit(() -> executableIndex.refresh(indexRoots())); // Missing or stale index
+            }
+        }
+
+        if (!cancelled.getAsBoolean()) {
+            for (SearchQuery query : batch) {
+                batchResults.put(query.originalName, rankResults(query.results, query.originalName));
             }
         }
+        return rankResults(primary.results, originalGameName);
+    }
 
-        return new ArrayList<>(results);
+    // Orders the matches by score, previously launched paths first, and adds fuzzy matches (acronyms, typos) from
+    // every executable seen so far, ordered the same way, as suggestions after them.
+    private static RankedResults rankResults(Collection<String> results, String originalGameName) {
+        java.util.List<String> matches = launchHistory.rank(QuickLauncher_v2_TrigramIndex.rank(results, originalGameName), originalGameName);
+        Set<String> fuzzy = new LinkedHashSet<>(trigramIndex.search(originalGameName, QuickLauncher_v2_Config.MAX_FUZZY_RESULTS));
+        fuzzy.removeAll(matches);
+        java.util.List<String> suggestions = launchHistory.rank(QuickLauncher_v2_TrigramIndex.rank(fuzzy, originalGameName), originalGameName);
+        return new RankedResults(matches, suggestions);
     }
 
-    private static void searchDrive(File dir, String originalGameName, String normalizedGameName, java.util.Set<String> results) {
+    private static java.util.List<Path> launcherRoots() {
+        java.util.List<Path> roots = new ArrayList<>();
+        for (File root : File.listRoots()) {
+            for (String launcherDir : QuickLauncher_v2_Config.LAUNCHER_DIRS) {
+                File launcherPath = new File(root, launcherDir);
+                if (launcherPath.isDirectory()) {
+                    roots.add(launcherPath.toPath());
+                }
+            }
+        }
+        return roots;
+    }
+
+    // Absolute entries as given, relative ones resolved against every drive; only existing directories.
+    private static java.util.List<Path> manifestDirs(String[] dirs) {
+        java.util.List<Path> paths = new ArrayList<>();
+        for (String dir : dirs) {
+            if (dir.trim().isEmpty()) {
+                continue;
+            }
+            File file = new File(dir.trim());
+            if (file.isAbsolute()) {
+                if (file.isDirectory()) {
+                    paths.add(file.toPath());
+                }
+                continue;
+            }
+            for (File root : File.listRoots()) {
+                File launcherPath = new File(root, dir.trim());
+                if (launcherPath.isDirectory()) {
+                    paths.add(launcherPath.toPath());
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static java.util.List<Path> indexRoots() {
+        java.util.List<Path> roots = new ArrayList<>();
+        for (File root : File.listRoots()) {
+            if (root.isDirectory() && root.canRead()) {
+                roots.add(root.toPath());
+            }
+        }
+        return roots;
+    }
+
+    // Launcher directories go first so likely hits are reached early; the rest of the drive follows, and the
+    // scanner's planning keeps the launcher directories inside it from being walked again.
+    private static void searchDrive(File dir, java.util.List<Path> startDirs) {
         for (String launcherDir : QuickLauncher_v2_Config.LAUNCHER_DIRS) {
             File launcherPath = new File(dir, launcherDir);
             if (launcherPath.exists() && launcherPath.isDirectory()) {
-                SwingUtilities.invokeLater(() -> setTruncatedStatus("Scanning launcher: " + launcherPath.getAbsolutePath()));
-                searchDirectory(launcherPath, originalGameName, normalizedGameName, results);
+                startDirs.add(launcherPath.toPath());
             }
         }
 
         File[] subDirs = dir.listFiles(File::isDirectory);
         if (subDirs != null) {
             for (File subDir : subDirs) {
-                searchDirectory(subDir, originalGameName, normalizedGameName, results);
+                startDirs.add(subDir.toPath());
             }
         }
     }
 
-    private static void searchDirectory(File directory, String originalGameName, String normalizedGameName, java.util.Set<String> results) {
-        if (directory == null || !directory.exists() ||
-            QuickLauncher_v2_Config.EXCLUDED_DIRS.contains(directory.getName()) ||
-            directory.getAbsolutePath().toLowerCase().contains("recycle")) {
-            return;
+    // One traversal for every query: an Aho-Corasick pass over each file and parent name picks the candidate queries.
+    // Returns the directories left unwalked when stopped early; resumed is set when directories are such a list.
+    private static java.util.List<Path> searchDirectories(java.util.List<Path> directories, boolean resumed,
+                                          java.util.List<SearchQuery> queries,
+                                          java.util.function.BooleanSupplier cancelled,
+                                          java.util.function.Consumer<String> onFirstQueryResult,
+                                          QuickLauncher_v2_ScanProgress progress) {
+        java.util.List<String> patterns = new ArrayList<>();
+        for (SearchQuery query : queries) {
+            patterns.add(query.originalName);
+            patterns.add(query.normalizedName);
         }
-        try {
-            Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
-                    if (searchCancelled) {
-                        return FileVisitResult.TERMINATE; // Stop traversal if cancelled
-                    }
-                    if (QuickLauncher_v2_Config.EXCLUDED_DIRS.contains(dir.getFileName().toString()) ||
-                        dir.toString().toLowerCase().contains("recycle")) {
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-                    return FileVisitResult.CONTINUE;
+        QuickLauncher_v2_MultiPatternMatcher matcher = new QuickLauncher_v2_MultiPatternMatcher(patterns);
+        QuickLauncher_v2_ScanPriority priority = null;
+        if (QuickLauncher_v2_Config.SCAN_BEST_FIRST) {
+            java.util.List<String> names = new ArrayList<>();
+            queries.forEach(query -> names.add(query.originalName));
+            Set<String> pastHits = new HashSet<>(launchHistory.targets());
+            pastHits.addAll(KEYWORDS.targets());
+            priority = new QuickLauncher_v2_ScanPriority(names, LauncherRootsHolder.LAUNCHER_ROOTS, pastHits);
+        }
+        QuickLauncher_v2_ScanMetrics.Scan scan = scanMetrics.beginScan(LauncherRootsHolder.LAUNCHER_ROOTS);
+        accessFailures.reset(); // Each scan logs its own first failures in full
+        // Executables seen, added to the fuzzy index in one go after the walk instead of under its lock per file
+        ConcurrentLinkedQueue<String> executables = new ConcurrentLinkedQueue<>();
+        QuickLauncher_v2_DirectoryScanner.Visitor visitor = new QuickLauncher_v2_DirectoryScanner.Visitor() {
+            @Override
+            public void visitFile(Path file, BasicFileAttributes attrs) {
+                scanMetrics.fileVisited();
+                progress.fileVisited(file); // Shown by the progress timer, not posted to the EDT per file
+                String fileName = file.getFileName().toString();
+                if (isExecutableName(fileName)) {
+                    executables.add(file.toString());
                 }
-
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                    if (searchCancelled) {
-                        return FileVisitResult.TERMINATE; // Stop traversal if cancelled
-                    }
-                    synchronized (QuickLauncher_v2.class) {
-                        fileCount++;
-                        long currentTime = System.currentTimeMillis();
-                        if (currentTime - lastUpdateTime >= QuickLauncher_v2_Config.UPDATE_INTERVAL_MS) {
-                            SwingUtilities.invokeLater(() -> setTruncatedStatus("Scanning: " + file.toString()));
-                            lastUpdateTime = currentTime;
-                        }
-                    }
-                    String fileName = file.getFileName().toString().toLowerCase();
-                    Path parent = file.getParent();
-                    boolean isXboxGame = parent != null && parent.toString().toLowerCase().contains("xboxgames");
-                    boolean isDiscordRelated = originalGameName.contains("discord") || 
-                                             normalizedGameName.contains("discord") ||
-                                             (parent != null && parent.getFileName().toString().toLowerCase().contains("discord"));
-                    
-                    if (isDiscordRelated && !fileName.endsWith(".lnk")) {
-                        return FileVisitResult.CONTINUE;
-                    }
-
-                    if (isXboxGame && parent != null) {
-                        String parentName = parent.getFileName().toString().toLowerCase();
-                        if (parentName.contains(originalGameName) || parentName.contains(normalizedGameName)) {
-                            synchronized (results) {
-                                String gameLaunchHelper = Paths.get(parent.toString(), "Content", "gamelaunchhelper.exe").toString();
-                                if (Files.exists(Paths.get(gameLaunchHelper))) {
-                                    System.out.println("Found Xbox game: " + gameLaunchHelper + " for " + (parentName.contains(originalGameName) ? originalGameName : normalizedGameName));
-                                    results.add(new File(gameLaunchHelper).getAbsolutePath());
-                                } else {
-                                    System.out.println("Found Xbox game: " + file.toString() + " for " + (parentName.contains(originalGameName) ? originalGameName : normalizedGameName));
-                                    results.add(file.toFile().getAbsolutePath());
-                                }
-                            }
-                        }
-                    } else if (QuickLauncher_v2_Config.EXECUTABLE_EXTENSIONS.stream().anyMatch(fileName::endsWith)) {
-                        String parentName = parent != null ? parent.getFileName().toString().toLowerCase() : "";
-                        if (fileName.contains(originalGameName) || fileName.contains(normalizedGameName) ||
-                            parentName.contains(originalGameName) || parentName.contains(normalizedGameName)) {
-                            synchronized (results) {
-                                System.out.println("Found non-Xbox game: " + file.toString() + " for " + (fileName.contains(originalGameName) || parentName.contains(originalGameName) ? originalGameName : normalizedGameName));
-                                results.add(file.toFile().getAbsolutePath());
-                            }
+                Path parent = file.getParent();
+                Path parentFileName = parent != null ? parent.getFileName() : null;
+                String parentName = parentFileName != null ? parentFileName.toString() : "";
+                long patternMask = matcher.match(fileName) | matcher.match(parentName);
+                while (patternMask != 0) {
+                    int queryIndex = Long.numberOfTrailingZeros(patternMask) / 2;
+                    patternMask &= ~(3L << (queryIndex * 2)); // Both patterns of this query are handled at once
+                    SearchQuery query = queries.get(queryIndex);
+                    String match = matchExecutable(parent != null ? parent.toString() : "", parentName,
+                            fileName, query.originalName, query.normalizedName);
+                    if (match != null && query.results.add(match)) {
+                        scanMetrics.matched();
+                        eventLog.log(QuickLauncher_v2_EventLog.Level.INFO, "Found game", match, query.originalName);
+                        if (queryIndex == 0) {
+                            onFirstQueryResult.accept(match);
                         }
                     }
-                    return FileVisitResult.CONTINUE;
                 }
+            }
 
-                @Override
-                public FileVisitResult visitFileFailed(Path file, IOException exc) {
-                    System.err.println("Failed to access file: " + file.toString() + ", error: " + exc.getMessage());
-                    return FileVisitResult.CONTINUE;
-                }
-            });
-        } catch (IOException e) {
-            System.err.println("Error scanning directory: " + directory.getAbsolutePath() + ", error: " + e.getMessage());
-            SwingUtilities.invokeLater(() -> setTruncatedStatus("Error scanning drive: " + directory.getAbsolutePath()));
+            @Override
+            public void visitFileFailed(Path file, IOException exc) {
+                scanMetrics.visitFailed();
+                eventLog.log(accessFailures, QuickLauncher_v2_EventLog.Level.WARN, "Failed to access file", file, exc);
+            }
+
+            @Override
+            public void directoryPruned(Path dir) {
+                scanMetrics.directoryPruned();
+            }
+
+            @Override
+            public void directoryScanned(Path dir, long nanos) {
+                scan.directoryScanned(dir, nanos);
+            }
+
+            @Override
+            public void rootDropped(Path root) {
+                scanMetrics.rootDeduplicated();
+            }
+
+            @Override
+            public void directoryRevisited(Path dir) {
+                scanMetrics.directoryDeduplicated();
+            }
+        };
+        java.util.List<Path> unfinished = resumed ? directoryScanner.resume(directories, cancelled, visitor, priority)
+                : directoryScanner.scan(directories, cancelled, visitor, priority);
+        trigramIndex.addAll(executables);
+        scan.finish();
+        return unfinished;
+    }
+
+    // Excluded by scan.exclude.dirs / excluded.dirs (recycle bins, system folders).
+    static boolean isPrunedDirectory(Path dir) {
+        Path name = dir.getFileName();
+        return name != null && QuickLauncher_v2_Config.SCAN_RULES.isExcludedDirectory(name.toString());
+    }
+
+    static boolean isExecutableName(String fileName) {
+        return QuickLauncher_v2_Config.SCAN_RULES.isExecutable(fileName);
+    }
+
+    // Returns the path to launch for a file in parentPath, or null if it does not match the query.
+    static String matchExecutable(String parentPath, String parentName, String fileName,
+                                  String originalGameName, String normalizedGameName) {
+        return QuickLauncher_v2_Config.SCAN_RULES.match(parentPath, parentName, fileName, originalGameName, normalizedGameName);
+    }
+
+    // A search's matches, best first, and the fuzzy suggestions that follow them. A suggestion never counts as a
+    // match: with one match that one is shown, and with none the suggestions are offered to choose from.
+    private static final class RankedResults {
+        static final RankedResults NONE = new RankedResults(Collections.emptyList(), Collections.emptyList());
+
+        final java.util.List<String> matches;
+        final java.util.List<String> suggestions;
+
+        RankedResults(java.util.List<String> matches, java.util.List<String> suggestions) {
+            this.matches = matches;
+            this.suggestions = suggestions;
+        }
+
+        java.util.List<String> all() {
+            java.util.List<String> all = new ArrayList<>(matches);
+            all.addAll(suggestions);
+            return all;
+        }
+    }
+
+    private static final class SearchQuery {
+        final String originalName;
+        final String normalizedName;
+        final Set<String> results = ConcurrentHashMap.newKeySet();
+
+        SearchQuery(String originalName, String normalizedName) {
+            this.originalName = originalName;
+            this.normalizedName = normalizedName;
         }
     }
 }
@@ -647,6 +1379,43 @@ class QuickLauncher_v2_Config {
     public static final Set<String> EXCLUDED_DIRS;
     public static final Set<String> EXECUTABLE_EXTENSIONS;
     public static final long UPDATE_INTERVAL_MS;
+    public static final String SCAN_SIZE_FILE;
+    public static final String INDEX_FILE;
+    public static final long INDEX_MAX_AGE_HOURS;
+    public static final int WATCH_MAX_KEYS;
+    public static final int SCAN_FORK_THRESHOLD;
+    public static final boolean SCAN_BEST_FIRST;
+    public static final boolean STOP_ON_EXACT_MATCH;
+    public static final long SEARCH_TIME_BUDGET_MS;
+    public static final int MAX_FUZZY_RESULTS;
+    public static final int KEYWORDS_COMPACT_AFTER;
+    public static final boolean KEYWORDS_HOT_RELOAD;
+    public static final long PROCESS_REFRESH_MS;
+    public static final long WIKI_PROBE_TIMEOUT_MS;
+    public static final long WIKI_CACHE_POSITIVE_MINUTES;
+    public static final long WIKI_CACHE_NEGATIVE_MINUTES;
+    public static final boolean METRICS_DUMP_ON_EXIT;
+    public static final QuickLauncher_v2_ScanRules SCAN_RULES;
+    public static final long LAUNCH_STEP_TIMEOUT_MS;
+    public static final boolean STARTUP_TRACE;
+    public static final boolean DAEMON_ENABLED;
+    public static final String DAEMON_SOCKET;
+    public static final String[] MANIFEST_STEAM_DIRS;
+    public static final String[] MANIFEST_EPIC_DIRS;
+    public static final String[] MANIFEST_XBOX_DIRS;
+    public static final String HISTORY_FILE;
+    public static final double HISTORY_HALF_LIFE_DAYS;
+    public static final int HISTORY_COMPACT_AFTER;
+    public static final double HISTORY_CONFIDENT_SHARE;
+    public static final double HISTORY_CONFIDENT_SCORE;
+    public static final String LOG_FILE;
+    public static final QuickLauncher_v2_EventLog.Level LOG_LEVEL;
+    public static final long LOG_MAX_BYTES;
+    public static final int LOG_FILES;
+    public static final boolean LOG_CONSOLE;
+    public static final int LOG_BUFFER_RECORDS;
+    public static final long LOG_SAMPLE_FIRST;
+    public static final long LOG_SAMPLE_EVERY;
 
     private static final String CONFIG_FILE = "src/quicklauncher_v2.properties";
 
@@ -686,5 +1455,164 @@ class QuickLauncher_v2_Config {
             interval = 500;
         }
         UPDATE_INTERVAL_MS = interval;
+        SCAN_SIZE_FILE = props.getProperty("scan.size.file", "src/scan_size.txt");
+
+        // Load executable index settings
+        INDEX_FILE = props.getProperty("index.file", "src/executables.idx");
+        String maxAge = props.getProperty("index.max.age.hours", "24");
+        long hours;
+        try {
+            hours = Long.parseLong(maxAge);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid index.max.age.hours value: " + maxAge + ", defaulting to 24");
+            hours = 24;
+        }
+        INDEX_MAX_AGE_HOURS = hours;
+
+        // Load WATCH_MAX_KEYS
+        String maxKeys = props.getProperty("watch.max.keys", "4096");
+        int keys;
+        try {
+            keys = Integer.parseInt(maxKeys);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid watch.max.keys value: " + maxKeys + ", defaulting to 4096");
+            keys = 4096;
+        }
+        WATCH_MAX_KEYS = keys;
+
+        // Load SCAN_FORK_THRESHOLD
+        String forkThreshold = props.getProperty("scan.fork.threshold", "8");
+        int threshold;
+        try {
+            threshold = Integer.parseInt(forkThreshold);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid scan.fork.threshold value: " + forkThreshold + ", defaulting to 8");
+            threshold = 8;
+        }
+        SCAN_FORK_THRESHOLD = threshold;
+
+        // Load SCAN_BEST_FIRST
+        SCAN_BEST_FIRST = Boolean.parseBoolean(props.getProperty("scan.best.first", "true"));
+
+        // Load STOP_ON_EXACT_MATCH
+        STOP_ON_EXACT_MATCH = Boolean.parseBoolean(props.getProperty("search.stop.on.exact.match", "false"));
+
+        // Load SEARCH_TIME_BUDGET_MS
+        SEARCH_TIME_BUDGET_MS = parseLong(props, "search.time.budget.ms", 0);
+
+        // Load MAX_FUZZY_RESULTS
+        String fuzzyResults = props.getProperty("search.max.fuzzy.results", "20");
+        int maxFuzzy;
+        try {
+            maxFuzzy = Integer.parseInt(fuzzyResults);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid search.max.fuzzy.results value: " + fuzzyResults + ", defaulting to 20");
+            maxFuzzy = 20;
+        }
+        MAX_FUZZY_RESULTS = maxFuzzy;
+
+        // Load KEYWORDS_COMPACT_AFTER
+        String compactAfter = props.getProperty("keywords.compact.after", "50");
+        int records;
+        try {
+            records = Integer.parseInt(compactAfter);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid keywords.compact.after value: " + compactAfter + ", defaulting to 50");
+            records = 50;
+        }
+        KEYWORDS_COMPACT_AFTER = records;
+
+        // Load KEYWORDS_HOT_RELOAD
+        KEYWORDS_HOT_RELOAD = Boolean.parseBoolean(props.getProperty("keywords.hot.reload", "true"));
+
+        // Load PROCESS_REFRESH_MS
+        String processRefresh = props.getProperty("process.refresh.ms", "2000");
+        long refresh;
+        try {
+            refresh = Long.parseLong(processRefresh);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid process.refresh.ms value: " + processRefresh + ", defaulting to 2000");
+            refresh = 2000;
+        }
+        PROCESS_REFRESH_MS = refresh;
+
+        // Load wiki page probe settings
+        WIKI_PROBE_TIMEOUT_MS = parseLong(props, "wiki.probe.timeout.ms", 3000);
+        WIKI_CACHE_POSITIVE_MINUTES = parseLong(props, "wiki.cache.positive.minutes", 60);
+        WIKI_CACHE_NEGATIVE_MINUTES = parseLong(props, "wiki.cache.negative.minutes", 5);
+
+        // Load LAUNCH_STEP_TIMEOUT_MS
+        LAUNCH_STEP_TIMEOUT_MS = parseLong(props, "launch.step.timeout.ms", 10000);
+
+        // Load launch history settings
+        HISTORY_FILE = props.getProperty("history.file", "src/launch_history.bin");
+        HISTORY_HALF_LIFE_DAYS = parseDouble(props, "history.half.life.days", 14);
+        HISTORY_COMPACT_AFTER = (int) parseLong(props, "history.compact.after", 500);
+        HISTORY_CONFIDENT_SHARE = parseDouble(props, "history.confident.share", 0.8);
+        HISTORY_CONFIDENT_SCORE = parseDouble(props, "history.confident.score", 2);
+
+        // Load STARTUP_TRACE
+        STARTUP_TRACE = Boolean.parseBoolean(props.getProperty("startup.trace", "false"));
+
+        // Load daemon settings
+        DAEMON_ENABLED = Boolean.parseBoolean(props.getProperty("daemon.enabled", "false"));
+        String socket = props.getProperty("daemon.socket", "").trim();
+        DAEMON_SOCKET = socket.isEmpty() ? QuickLauncher_v2_Client.defaultSocket().toString() : socket;
+
+        // Load METRICS_DUMP_ON_EXIT
+        METRICS_DUMP_ON_EXIT = Boolean.parseBoolean(props.getProperty("metrics.dump.on.exit", "false"));
+
+        // Load event log settings
+        LOG_FILE = props.getProperty("log.file", "src/quicklauncher.log");
+        String level = props.getProperty("log.level", "INFO").trim();
+        QuickLauncher_v2_EventLog.Level logLevel;
+        try {
+            logLevel = QuickLauncher_v2_EventLog.Level.valueOf(level.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid log.level value: " + level + ", defaulting to INFO");
+            logLevel = QuickLauncher_v2_EventLog.Level.INFO;
+        }
+        LOG_LEVEL = logLevel;
+        LOG_MAX_BYTES = parseLong(props, "log.max.bytes", 1048576);
+        LOG_FILES = (int) parseLong(props, "log.files", 3);
+        LOG_CONSOLE = Boolean.parseBoolean(props.getProperty("log.console", "false"));
+        LOG_BUFFER_RECORDS = (int) parseLong(props, "log.buffer.records", 8192);
+        LOG_SAMPLE_FIRST = parseLong(props, "log.sample.first", 20);
+        LOG_SAMPLE_EVERY = parseLong(props, "log.sample.every", 1000);
+
+        // Compile SCAN_RULES from excluded.dirs, executable.extensions and the scan.* rules
+        QuickLauncher_v2_ScanRules rules;
+        try {
+            rules = QuickLauncher_v2_ScanRules.compile(props, EXCLUDED_DIRS, EXECUTABLE_EXTENSIONS);
+        } catch (java.util.regex.PatternSyntaxException e) {
+            System.err.println("Invalid scan rule pattern: " + e.getMessage() + ", using the default rules");
+            rules = QuickLauncher_v2_ScanRules.compile(new Properties(), EXCLUDED_DIRS, EXECUTABLE_EXTENSIONS);
+        }
+        SCAN_RULES = rules;
+
+        // Load launcher manifest locations (relative entries are tried on every drive)
+        MANIFEST_STEAM_DIRS = props.getProperty("manifest.steam.dirs", "Program Files (x86)/Steam,Program Files/Steam,Steam").split(",");
+        MANIFEST_EPIC_DIRS = props.getProperty("manifest.epic.dirs", "ProgramData/Epic/EpicGamesLauncher/Data/Manifests").split(",");
+        MANIFEST_XBOX_DIRS = props.getProperty("manifest.xbox.dirs", "XboxGames").split(",");
+    }
+
+    private static long parseLong(Properties props, String key, long defaultValue) {
+        String value = props.getProperty(key, String.valueOf(defaultValue));
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + key + " value: " + value + ", defaulting to " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static double parseDouble(Properties props, String key, double defaultValue) {
+        String value = props.getProperty(key, String.valueOf(defaultValue));
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + key + " value: " + value + ", defaulting to " + defaultValue);
+            return defaultValue;
+        }
     }
 }
\ No newline at end of file
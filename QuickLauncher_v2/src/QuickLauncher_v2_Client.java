@@ -0,0 +1,62 @@
+import java.io.*;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Sends one request to a running launcher (see QuickLauncher_v2_Daemon) and prints the reply. It
+ * loads nothing else of the launcher, so it starts as fast as a JVM can:
+ *
+ * <pre>java -cp QuickLauncher_v2.jar QuickLauncher_v2_Client [--socket path] launch|query|show|ping [text]</pre>
+ *
+ * Exits with 0 for OK, 1 for ERR and 2 when no launcher is listening.
+ */
+public class QuickLauncher_v2_Client {
+    public static void main(String[] args) {
+        Path socket = defaultSocket();
+        int first = 0;
+        if (args.length >= 2 && args[0].equals("--socket")) {
+            socket = Paths.get(args[1]);
+            first = 2;
+        }
+        if (args.length <= first) {
+            System.err.println("Usage: QuickLauncher_v2_Client [--socket path] launch|query|show|ping [text]");
+            System.exit(2);
+        }
+        String request = String.join(" ", java.util.Arrays.copyOfRange(args, first, args.length));
+        String reply;
+        try {
+            reply = send(socket, request);
+        } catch (IOException e) {
+            System.err.println("No launcher is listening on " + socket + " (" + e.getMessage() + ")");
+            System.exit(2);
+            return;
+        }
+        if (reply == null) {
+            System.err.println("The launcher closed the connection without replying.");
+            System.exit(2);
+        }
+        boolean ok = reply.startsWith("OK");
+        (ok ? System.out : System.err).println(reply.substring(Math.min(reply.length(), ok ? 3 : 4)).replace('\t', '\n'));
+        System.exit(ok ? 0 : 1);
+    }
+
+    // Where launchers listen unless daemon.socket says otherwise; per user, since the temp dir may be shared.
+    static Path defaultSocket() {
+        return Paths.get(System.getProperty("java.io.tmpdir"), "quicklauncher_v2-" + System.getProperty("user.name") + ".sock");
+    }
+
+    static String send(Path socket, String request) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket));
+             BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+             Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8)) {
+            writer.write(request.replace('\n', ' '));
+            writer.write('\n');
+            writer.flush();
+            return reader.readLine();
+        }
+    }
+}
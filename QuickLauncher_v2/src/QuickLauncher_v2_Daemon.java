@@ -0,0 +1,137 @@
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Unix domain socket front end of a running launcher, so hotkeys and scripts reuse its warm JVM,
+ * keyword map and indexes instead of starting a new one. A request is one UTF-8 line,
+ * "command argument"; the reply is one line, "OK text" or "ERR text". A connection may carry any
+ * number of requests. The protocol is plain text, so {@code nc -U} works as a client as well as
+ * QuickLauncher_v2_Client. A socket file left behind by a dead launcher is replaced.
+ */
+class QuickLauncher_v2_Daemon {
+    private final Path socket;
+    private final Map<String, Function<String, String>> commands;
+    private final ExecutorService connections;
+    private volatile ServerSocketChannel server;
+
+    QuickLauncher_v2_Daemon(Path socket, Map<String, Function<String, String>> commands) {
+        this.socket = socket;
+        this.commands = commands;
+        AtomicInteger threads = new AtomicInteger();
+        this.connections = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "QuickLauncher-daemon-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Starts serving; false if another launcher already serves the socket or it cannot be bound.
+    boolean start() {
+        try {
+            if (Files.exists(socket)) {
+                if (isAlive(socket)) {
+                    System.err.println("Another launcher is already listening on " + socket);
+                    return false;
+                }
+                Files.delete(socket); // Left behind by a launcher that did not shut down cleanly
+            }
+            ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.bind(UnixDomainSocketAddress.of(socket));
+            server = channel;
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("Cannot listen on " + socket + ", error: " + e.getMessage());
+            return false;
+        }
+        Thread acceptor = new Thread(this::accept, "QuickLauncher-daemon"); // Keeps a headless launcher serving
+        acceptor.start();
+        return true;
+    }
+
+    void stop() {
+        ServerSocketChannel channel = server;
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+            Files.deleteIfExists(socket);
+        } catch (IOException e) {
+            System.err.println("Error closing " + socket + ": " + e.getMessage());
+        }
+        connections.shutdownNow();
+    }
+
+    static boolean isAlive(Path socket) {
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socket)).close(); // Only whether someone accepts matters
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void accept() {
+        ServerSocketChannel channel = server;
+        while (channel.isOpen()) {
+            try {
+                SocketChannel client = channel.accept();
+                connections.execute(() -> serve(client));
+            } catch (ClosedChannelException e) {
+                return; // Stopped
+            } catch (IOException e) {
+                System.err.println("Error accepting on " + socket + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(SocketChannel client) {
+        try (SocketChannel channel = client;
+             BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+             Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                writer.write(handle(line));
+                writer.write('\n');
+                writer.flush();
+            }
+        } catch (IOException e) {
+            // Client went away mid-request
+        }
+    }
+
+    String handle(String line) {
+        line = line.trim();
+        int space = line.indexOf(' ');
+        String name = (space < 0 ? line : line.substring(0, space)).toLowerCase();
+        String argument = space < 0 ? "" : line.substring(space + 1).trim();
+        if (name.equals("ping")) {
+            return "OK pong";
+        }
+        Function<String, String> command = commands.get(name);
+        if (command == null) {
+            return "ERR Unknown command: " + name + " (expected ping, " + String.join(", ", commands.keySet()) + ")";
+        }
+        try {
+            return "OK " + singleLine(command.apply(argument));
+        } catch (RuntimeException e) {
+            return "ERR " + singleLine(e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private static String singleLine(String text) {
+        return text.replace("\r", "").replace('\n', '\t');
+    }
+}
@@ -0,0 +1,321 @@
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Parallel directory walker. Each task walks its directories depth-first and, once it has more than
+ * forkThreshold directories pending, forks the oldest half (the shallowest, largest subtrees) so idle
+ * workers can steal them. Small subtrees therefore never pay for a fork. A stopped scan reports the
+ * directories it did not finish, so a later scan can resume from them.
+ *
+ * Start directories are planned first: resolved to their real paths, with duplicates and those inside
+ * an earlier one dropped. A start directory that contains an earlier one is still walked, and the
+ * walk remembers every directory by its file key (device and inode where the file system has one,
+ * the path otherwise), so the nested tree, or one mounted or linked in twice, is listed only once.
+ *
+ * Given a priority, the walk is best-first instead: pending directories share one priority queue,
+ * and every directory queued forks a task that lists whichever is the most promising one by the time
+ * it runs, so the best directory anywhere is always listed next and no worker waits for work.
+ *
+ * The pool should be the scanner's own: a scan keeps every worker busy until it is done.
+ */
+class QuickLauncher_v2_DirectoryScanner {
+    interface Visitor {
+        void visitFile(Path file, BasicFileAttributes attrs);
+
+        default void visitFileFailed(Path file, IOException exc) {
+        }
+
+        // A directory skipped because of EXCLUDED_DIRS or a recycle bin.
+        default void directoryPruned(Path dir) {
+        }
+
+        // Time spent listing dir and visiting its files, excluding its subdirectories.
+        default void directoryScanned(Path dir, long nanos) {
+        }
+
+        // A start directory dropped by planning because an earlier one already covers it.
+        default void rootDropped(Path root) {
+        }
+
+        // A directory not listed again because it was reached before under another path.
+        default void directoryRevisited(Path dir) {
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int forkThreshold;
+
+    QuickLauncher_v2_DirectoryScanner(ForkJoinPool pool, int forkThreshold) {
+        this.pool = pool;
+        this.forkThreshold = Math.max(1, forkThreshold);
+    }
+
+    /**
+     * Walks the given directories in order, skipping EXCLUDED_DIRS and recycle bins; returns when done
+     * or cancelled. Returns the directories left unwalked (empty when done); a directory cancelled
+     * midway is included whole, so resuming may visit some of its files twice.
+     */
+    java.util.List<Path> scan(java.util.List<Path> startDirs, BooleanSupplier cancelled, Visitor visitor) {
+        return scan(startDirs, cancelled, visitor, null);
+    }
+
+    // As above, but with a priority the most promising pending directory (highest value) is always listed next.
+    java.util.List<Path> scan(java.util.List<Path> startDirs, BooleanSupplier cancelled, Visitor visitor,
+                              ToDoubleFunction<Path> priority) {
+        return walk(plan(startDirs, visitor), cancelled, visitor, priority);
+    }
+
+    /**
+     * Continues a scan from the directories an earlier one left unwalked, without planning them: they are
+     * real paths already, and a directory among them that contains another is listed once all the same,
+     * since the walk skips directories it has reached before.
+     */
+    java.util.List<Path> resume(java.util.List<Path> unwalked, BooleanSupplier cancelled, Visitor visitor,
+                                ToDoubleFunction<Path> priority) {
+        return walk(unwalked, cancelled, visitor, priority);
+    }
+
+    private java.util.List<Path> walk(java.util.List<Path> startDirs, BooleanSupplier cancelled, Visitor visitor,
+                                      ToDoubleFunction<Path> priority) {
+        ArrayDeque<Path> pending = new ArrayDeque<>();
+        Set<Object> visited = ConcurrentHashMap.newKeySet();
+        for (Path dir : startDirs) {
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(dir, BasicFileAttributes.class);
+            } catch (IOException e) {
+                continue;
+            }
+            if (!attrs.isDirectory()) {
+                continue;
+            }
+            if (QuickLauncher_v2.isPrunedDirectory(dir)) {
+                visitor.directoryPruned(dir);
+            } else if (visited.add(key(dir, attrs))) {
+                pending.addLast(dir);
+            } else {
+                visitor.directoryRevisited(dir);
+            }
+        }
+        ConcurrentLinkedQueue<Path> unfinished = new ConcurrentLinkedQueue<>();
+        if (pending.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (priority != null) {
+            new BestFirstScan(cancelled, visitor, priority, unfinished, visited).run(pending);
+        } else {
+            pool.invoke(new ScanTask(pending, cancelled, visitor, unfinished, visited));
+        }
+        return new ArrayList<>(unfinished);
+    }
+
+    // Start directories resolved to real paths, in order, without duplicates or directories inside an earlier one.
+    static java.util.List<Path> plan(java.util.List<Path> startDirs, Visitor visitor) {
+        java.util.List<Path> planned = new ArrayList<>(startDirs.size());
+        Set<Path> roots = new HashSet<>();
+        for (Path dir : startDirs) {
+            Path resolved;
+            try {
+                resolved = dir.toRealPath(); // Follows junctions and links to the directory they stand for
+            } catch (IOException e) {
+                resolved = dir.toAbsolutePath().normalize();
+            }
+            // Looks up the directory's own ancestors rather than comparing it with every earlier root
+            boolean covered = false;
+            for (Path ancestor = resolved; ancestor != null && !covered; ancestor = ancestor.getParent()) {
+                covered = roots.contains(ancestor);
+            }
+            if (covered) {
+                visitor.rootDropped(dir);
+            } else {
+                planned.add(resolved);
+                roots.add(resolved);
+            }
+        }
+        return planned;
+    }
+
+    // Identity of a directory: its file key, or its path on file systems without one (e.g. NTFS).
+    private static Object key(Path dir, BasicFileAttributes attrs) {
+        Object fileKey = attrs.fileKey();
+        return fileKey != null ? fileKey : dir.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Lists dir, passing its files to the visitor; returns its subdirectories not reached before, or
+     * null when the listing failed or was cancelled (a cancelled directory goes to unfinished).
+     */
+    private static java.util.List<Path> listDirectory(Path dir, BooleanSupplier cancelled, Visitor visitor,
+                                                      Set<Object> visited, Queue<Path> unfinished) {
+        long start = System.nanoTime();
+        java.util.List<Path> subDirs = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path child : stream) {
+                if (cancelled.getAsBoolean()) {
+                    unfinished.add(dir); // Listed again on resume
+                    return null;
+                }
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (IOException e) {
+                    visitor.visitFileFailed(child, e);
+                    continue;
+                }
+                if (attrs.isDirectory()) {
+                    if (QuickLauncher_v2.isPrunedDirectory(child)) {
+                        visitor.directoryPruned(child);
+                    } else if (visited.add(key(child, attrs))) {
+                        subDirs.add(child);
+                    } else {
+                        visitor.directoryRevisited(child);
+                    }
+                } else {
+                    visitor.visitFile(child, attrs);
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            visitor.visitFileFailed(dir, e instanceof IOException ? (IOException) e : ((DirectoryIteratorException) e).getCause());
+            return null;
+        } finally {
+            visitor.directoryScanned(dir, System.nanoTime() - start);
+        }
+        return subDirs;
+    }
+
+    private class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayDeque<Path> pending;
+        private final BooleanSupplier cancelled;
+        private final Visitor visitor;
+        private final Queue<Path> unfinished;
+        private final Set<Object> visited; // Keys of every directory queued so far, shared by all tasks of a scan
+
+        ScanTask(ArrayDeque<Path> pending, BooleanSupplier cancelled, Visitor visitor, Queue<Path> unfinished, Set<Object> visited) {
+            this.pending = pending;
+            this.cancelled = cancelled;
+            this.visitor = visitor;
+            this.unfinished = unfinished;
+            this.visited = visited;
+        }
+
+        @Override
+        protected void compute() {
+            java.util.List<ScanTask> forked = new ArrayList<>();
+            while (!pending.isEmpty() && !cancelled.getAsBoolean()) {
+                java.util.List<Path> subDirs = listDirectory(pending.pollFirst(), cancelled, visitor, visited, unfinished);
+                if (subDirs != null) {
+                    // Push in reverse so the walk continues depth-first in listing order.
+                    for (int i = subDirs.size() - 1; i >= 0; i--) {
+                        pending.addFirst(subDirs.get(i));
+                    }
+                }
+                if (pending.size() > forkThreshold) {
+                    ArrayDeque<Path> split = new ArrayDeque<>();
+                    for (int i = pending.size() / 2; i > 0; i--) {
+                        split.addFirst(pending.pollLast());
+                    }
+                    ScanTask task = new ScanTask(split, cancelled, visitor, unfinished, visited);
+                    task.fork();
+                    forked.add(task);
+                }
+            }
+            unfinished.addAll(pending); // Empty unless cancelled
+            for (ScanTask task : forked) {
+                task.join();
+            }
+        }
+    }
+
+    private static final class Pending implements Comparable<Pending> {
+        final Path dir;
+        final double priority;
+        final long order; // Ties go to the directory found first
+
+        Pending(Path dir, double priority, long order) {
+            this.dir = dir;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Pending other) {
+            int byPriority = Double.compare(other.priority, priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+
+    /**
+     * Best-first walk: one priority queue of pending directories, and one task forked per directory
+     * queued. A task lists the most promising directory pending when it runs, which need not be the
+     * one it was forked for, so the queue never runs dry while tasks remain and no worker polls.
+     */
+    private class BestFirstScan {
+        private final PriorityBlockingQueue<Pending> queue = new PriorityBlockingQueue<>();
+        private final AtomicLong order = new AtomicLong();
+        private final BooleanSupplier cancelled;
+        private final Visitor visitor;
+        private final ToDoubleFunction<Path> priority;
+        private final Queue<Path> unfinished;
+        private final Set<Object> visited;
+
+        BestFirstScan(BooleanSupplier cancelled, Visitor visitor, ToDoubleFunction<Path> priority, Queue<Path> unfinished,
+                      Set<Object> visited) {
+            this.cancelled = cancelled;
+            this.visitor = visitor;
+            this.priority = priority;
+            this.unfinished = unfinished;
+            this.visited = visited;
+        }
+
+        void run(Collection<Path> startDirs) {
+            pool.invoke(new ListTask(null, startDirs));
+            for (Pending pending : queue) {
+                unfinished.add(pending.dir); // Empty unless cancelled
+            }
+        }
+
+        private class ListTask extends CountedCompleter<Void> {
+            private static final long serialVersionUID = 1L;
+
+            private final Collection<Path> startDirs; // Queued by the root task, null for the others
+
+            ListTask(ListTask parent, Collection<Path> startDirs) {
+                super(parent);
+                this.startDirs = startDirs;
+            }
+
+            @Override
+            public void compute() {
+                if (startDirs != null) {
+                    startDirs.forEach(this::offer);
+                } else if (!cancelled.getAsBoolean()) {
+                    Pending next = queue.poll(); // Never null: each task is forked after queueing one directory
+                    java.util.List<Path> subDirs = listDirectory(next.dir, cancelled, visitor, visited, unfinished);
+                    if (subDirs != null) {
+                        subDirs.forEach(this::offer);
+                    }
+                }
+                tryComplete();
+            }
+
+            private void offer(Path dir) {
+                queue.add(new Pending(dir, priority.applyAsDouble(dir), order.getAndIncrement()));
+                addToPendingCount(1);
+                new ListTask(this, null).fork();
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Diagnostic event log for hot paths such as scan threads. log() claims a slot of a preallocated
+ * ring with one CAS, stores a fixed-size record (time, level, thread, message and references to the
+ * subject and detail) and publishes it; nothing is formatted, locked or written on the caller's
+ * thread, and when the ring is full the event is counted as dropped instead of waiting. A background
+ * thread drains the ring, formats the records and appends them to a file that is rotated by size.
+ * Repeated events go through a Sampler, which keeps the first few and then every Nth.
+ */
+final class QuickLauncher_v2_EventLog {
+    enum Level { DEBUG, INFO, WARN, ERROR }
+
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * Counts one kind of repeated event (e.g. access denied during a scan): the first sampleFirst
+     * are logged, then every sampleEvery-th, each with its running count so the gaps are visible.
+     */
+    final class Sampler {
+        private final AtomicLong count = new AtomicLong();
+
+        void reset() {
+            count.set(0);
+        }
+    }
+
+    private final Path file;
+    private final Level minLevel;
+    private final long maxBytes;
+    private final int files;
+    private final boolean console;
+    private final long sampleFirst;
+    private final long sampleEvery;
+
+    // The ring: slot i holds the record with sequence number s when sequences[i] == s + 1 (Vyukov's bounded queue)
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // Only touched on the writer thread
+    private final long[] times;
+    private final Level[] levels;
+    private final String[] threads;
+    private final String[] messages;
+    private final Object[] subjects;
+    private final Object[] details;
+    private final long[] occurrences; // Sampler count at the time of the event, 0 when not sampled
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported; // Only touched on the writer thread
+
+    private volatile Thread writer;
+    private volatile boolean closed = false;
+    private Writer out; // Only touched on the writer thread
+    private long outBytes;
+
+    // capacity is rounded up to a power of two.
+    QuickLauncher_v2_EventLog(Path file, Level minLevel, long maxBytes, int files, boolean console, int capacity,
+                              long sampleFirst, long sampleEvery) {
+        this.file = file;
+        this.minLevel = minLevel;
+        this.maxBytes = maxBytes;
+        this.files = Math.max(1, files);
+        this.console = console;
+        this.sampleFirst = sampleFirst;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        times = new long[size];
+        levels = new Level[size];
+        threads = new String[size];
+        messages = new String[size];
+        subjects = new Object[size];
+        details = new Object[size];
+        occurrences = new long[size];
+    }
+
+    Sampler sampler() {
+        return new Sampler();
+    }
+
+    boolean isEnabled(Level level) {
+        return level.compareTo(minLevel) >= 0;
+    }
+
+    /**
+     * Records message with an optional subject and detail (a path, a query, an exception), which are
+     * turned into text on the writer thread; message should be a constant, not built per event.
+     */
+    void log(Level level, String message, Object subject, Object detail) {
+        if (isEnabled(level)) {
+            append(level, message, subject, detail, 0);
+        }
+    }
+
+    // As log(), but only the events sampler lets through are recorded.
+    void log(Sampler sampler, Level level, String message, Object subject, Object detail) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        long n = sampler.count.incrementAndGet();
+        if (n <= sampleFirst || (n - sampleFirst) % sampleEvery == 0) {
+            append(level, message, subject, detail, n);
+        }
+    }
+
+    // Events lost to a full ring since the log was created.
+    long dropped() {
+        return dropped.sum();
+    }
+
+    // Starts the writer thread; events logged before are kept as long as the ring has room.
+    synchronized void start() {
+        if (writer != null || closed) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "event-log");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    // Writes out what is buffered and stops the writer; used on shutdown.
+    void close() {
+        closed = true;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(Level level, String message, Object subject, Object detail, long occurrence) {
+        long sequence;
+        int slot;
+        while (true) {
+            sequence = tail.get();
+            slot = (int) sequence & mask;
+            long available = sequences.get(slot);
+            if (available == sequence) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+            } else if (available < sequence) {
+                dropped.increment(); // The writer has not drained this slot yet
+                return;
+            }
+            // Otherwise another thread took this sequence number first; try the next one
+        }
+        times[slot] = System.currentTimeMillis();
+        levels[slot] = level;
+        threads[slot] = Thread.currentThread().getName();
+        messages[slot] = message;
+        subjects[slot] = subject;
+        details[slot] = detail;
+        occurrences[slot] = occurrence;
+        sequences.set(slot, sequence + 1); // Publishes the fields above to the writer
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                boolean closing = closed;
+                int drained = drain();
+                if (out != null && drained > 0) {
+                    out.flush();
+                }
+                if (closing && drained == 0) {
+                    return;
+                }
+                if (drained == 0) {
+                    LockSupport.parkNanos(DRAIN_INTERVAL_NANOS); // Producers never wake the writer
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing event log " + file + ": " + e.getMessage());
+        } finally {
+            try {
+                if (out != null) {
+                    out.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Error closing event log " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Formats and writes every published record; returns how many there were.
+    private int drain() throws IOException {
+        int drained = 0;
+        StringBuilder line = new StringBuilder(256);
+        while (true) {
+            int slot = (int) head & mask;
+            if (sequences.get(slot) != head + 1) {
+                break;
+            }
+            line.setLength(0);
+            line.append(TIME.format(Instant.ofEpochMilli(times[slot]))).append(' ').append(levels[slot])
+                    .append(" [").append(threads[slot]).append("] ").append(messages[slot]);
+            if (subjects[slot] != null) {
+                line.append(": ").append(subjects[slot]);
+            }
+            Object detail = details[slot];
+            if (detail != null) {
+                line.append(" (").append(detail instanceof Throwable ? describe((Throwable) detail) : detail).append(')');
+            }
+            if (occurrences[slot] > sampleFirst) {
+                line.append(" [occurrence ").append(occurrences[slot]).append(", sampled 1 in ").append(sampleEvery).append(']');
+            }
+            Level level = levels[slot];
+            subjects[slot] = null; // Do not keep paths and exceptions alive until the slot is reused
+            details[slot] = null;
+            sequences.set(slot, head + mask + 1); // Free for the producer one lap ahead
+            head++;
+            write(line, level);
+            drained++;
+        }
+        long lost = dropped.sum();
+        if (lost > droppedReported) {
+            line.setLength(0);
+            line.append(TIME.format(Instant.now())).append(" WARN [event-log] ").append(lost - droppedReported)
+                    .append(" events dropped, the log buffer was full");
+            droppedReported = lost;
+            write(line, Level.WARN);
+        }
+        return drained;
+    }
+
+    private void write(StringBuilder line, Level level) throws IOException {
+        if (console) {
+            (level.compareTo(Level.WARN) >= 0 ? System.err : System.out).println(line);
+        }
+        line.append(System.lineSeparator());
+        if (out == null) {
+            open();
+        }
+        if (outBytes > 0 && outBytes + line.length() > maxBytes) {
+            rotate();
+        }
+        out.append(line);
+        outBytes += line.length(); // Counts chars, which is close enough for rotation
+    }
+
+    // Appends to file, which is kept from earlier runs until it fills up.
+    private void open() throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        outBytes = Files.exists(file) ? Files.size(file) : 0;
+        out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND), StandardCharsets.UTF_8));
+    }
+
+    // Moves file to file.1, file.1 to file.2 and so on, dropping the oldest, and opens a fresh file.
+    private void rotate() throws IOException {
+        out.close();
+        out = null;
+        Files.deleteIfExists(rotated(files - 1));
+        for (int i = files - 2; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (files > 1) {
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        open();
+    }
+
+    private Path rotated(int generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    private static String describe(Throwable error) {
+        String name = error.getClass().getSimpleName();
+        return error.getMessage() != null ? name + ": " + error.getMessage() : name;
+    }
+}
@@ -0,0 +1,429 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent index of every executable under the scanned roots.
+ *
+ * File layout (big-endian):
+ *   header:    int magic, int version, long builtAt, int dirCount, int bodyLength, int bodyCrc32
+ *   directory: long mtime, int fileCount, short pathLength, byte[] path (UTF-8)
+ *   file:      long size, long mtime, short nameLength, byte[] name (UTF-8)
+ * Every visited directory is recorded, even without executables, so a refresh
+ * only has to re-list the directories whose mtime changed. A file whose length or checksum does
+ * not match its header, e.g. one cut short by a crash mid-write, is never loaded.
+ */
+class QuickLauncher_v2_ExecutableIndex {
+    private static final int MAGIC = 0x514C5831; // "QLX1"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 28;
+    private static final byte SEPARATOR = (byte) File.separatorChar;
+
+    private final Path file;
+    private final Path tempFile;
+    private final long maxAgeMillis;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile ByteBuffer data; // Mapped index file, or the bytes of the last refresh
+    private volatile long builtAt;
+
+    QuickLauncher_v2_ExecutableIndex(Path file, long maxAgeMillis) {
+        this.file = file;
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    boolean load() {
+        try {
+            // A previous refresh could not replace the file while it was mapped (Windows); promote it now.
+            if (Files.exists(tempFile)) {
+                if (isComplete(ByteBuffer.wrap(Files.readAllBytes(tempFile)))) {
+                    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    System.err.println("Discarding incomplete executable index: " + tempFile);
+                    Files.delete(tempFile);
+                }
+            }
+            if (!Files.exists(file)) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (!isComplete(mapped)) {
+                    System.err.println("Ignoring invalid executable index: " + file);
+                    return false;
+                }
+                builtAt = mapped.getLong(8);
+                data = mapped;
+                return true;
+            }
+        } catch (IOException e) {
+            System.err.println("Error loading executable index: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isUsable() {
+        return data != null && System.currentTimeMillis() - builtAt <= maxAgeMillis;
+    }
+
+    // Matches from the index, or null when there is no usable one (missing, expired or unreadable) and callers must walk.
+    java.util.List<String> find(String originalGameName, String normalizedGameName) {
+        ByteBuffer source = data;
+        if (source == null || !isUsable()) {
+            return null;
+        }
+        try {
+            return find(source.duplicate(), originalGameName, normalizedGameName);
+        } catch (RuntimeException e) {
+            discard(source, e);
+            return null;
+        }
+    }
+
+    // Matches on the encoded names: a file is only a match with the query in its own or its directory's name, so
+    // the names are decoded, and the rules applied, only for files that pass that test on the raw bytes.
+    private static java.util.List<String> find(ByteBuffer buffer, String originalGameName, String normalizedGameName) {
+        java.util.List<String> results = new ArrayList<>();
+        byte[] original = asciiKey(originalGameName);
+        byte[] normalized = asciiKey(normalizedGameName);
+        int dirCount = buffer.getInt(16);
+        buffer.position(HEADER_SIZE);
+        Set<String> seen = new HashSet<>();
+        for (int d = 0; d < dirCount; d++) {
+            buffer.getLong(); // mtime
+            int fileCount = buffer.getInt();
+            int pathStart = buffer.position() + 2;
+            int pathEnd = pathStart + (buffer.getShort() & 0xFFFF);
+            buffer.position(pathEnd);
+            int dirNameStart = pathEnd;
+            while (dirNameStart > pathStart && buffer.get(dirNameStart - 1) != SEPARATOR) {
+                dirNameStart--;
+            }
+            boolean dirMayMatch = mayContain(buffer, dirNameStart, pathEnd, original)
+                || mayContain(buffer, dirNameStart, pathEnd, normalized);
+            String dirPath = null;
+            String dirName = null;
+            for (int f = 0; f < fileCount; f++) {
+                int nameStart = buffer.position() + 18; // size, mtime, nameLength
+                int nameEnd = nameStart + (buffer.getShort(nameStart - 2) & 0xFFFF);
+                buffer.position(nameEnd);
+                if (!dirMayMatch && !mayContain(buffer, nameStart, nameEnd, original)
+                        && !mayContain(buffer, nameStart, nameEnd, normalized)) {
+                    continue;
+                }
+                if (dirPath == null) {
+                    dirPath = readString(buffer, pathStart, pathEnd);
+                    dirName = nameOf(dirPath);
+                }
+                String match = QuickLauncher_v2.matchExecutable(dirPath, dirName, readString(buffer, nameStart, nameEnd),
+                        originalGameName, normalizedGameName);
+                if (match != null && seen.add(match)) {
+                    results.add(match);
+                }
+            }
+        }
+        return results;
+    }
+
+    // The query as ASCII bytes, or null when it has other characters and can only be compared with decoded names.
+    private static byte[] asciiKey(String part) {
+        byte[] key = new byte[part.length()];
+        for (int i = 0; i < key.length; i++) {
+            char c = part.charAt(i);
+            if (c >= 0x80) {
+                return null;
+            }
+            key[i] = (byte) c;
+        }
+        return key;
+    }
+
+    // Whether the UTF-8 name at [start, end) may contain key, as ScanRules.containsIgnoreCase compares them: exactly
+    // for an ASCII name, while a name or key with other characters needs the decoded strings and is kept.
+    private static boolean mayContain(ByteBuffer buffer, int start, int end, byte[] key) {
+        if (key == null) {
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) < 0) {
+                return true;
+            }
+        }
+        for (int i = start; i <= end - key.length; i++) {
+            int j = 0;
+            while (j < key.length && toLower(buffer.get(i + j)) == key[j]) {
+                j++;
+            }
+            if (j == key.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte toLower(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    void forEach(java.util.function.BiConsumer<String, String> action) {
+        ByteBuffer source = data;
+        if (source == null) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = source.duplicate();
+            int dirCount = buffer.getInt(16);
+            buffer.position(HEADER_SIZE);
+            for (int d = 0; d < dirCount; d++) {
+                buffer.getLong(); // mtime
+                int fileCount = buffer.getInt();
+                String dirPath = readString(buffer);
+                for (int f = 0; f < fileCount; f++) {
+                    buffer.position(buffer.position() + 16); // size, mtime
+                    action.accept(dirPath, readString(buffer));
+                }
+            }
+        } catch (RuntimeException e) {
+            discard(source, e);
+        }
+    }
+
+    // Drops an index that failed to decode; searches walk and the next refresh builds it from scratch.
+    private void discard(ByteBuffer source, RuntimeException e) {
+        if (data == source) {
+            data = null;
+            System.err.println("Executable index is unreadable, ignoring it: " + e);
+        }
+    }
+
+    // Loads the existing index and re-lists only directories whose mtime changed; builds from scratch otherwise.
+    void refresh(java.util.List<Path> roots) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ByteBuffer source = data;
+            Map<String, DirRecord> dirs = null;
+            if (source != null) {
+                try {
+                    dirs = decode(source);
+                } catch (RuntimeException e) {
+                    discard(source, e);
+                }
+            }
+            if (dirs == null) {
+                dirs = new LinkedHashMap<>();
+                for (Path root : roots) {
+                    walk(root, dirs);
+                }
+            } else {
+                refreshChanged(dirs);
+            }
+            write(dirs);
+        } catch (IOException e) {
+            System.err.println("Error refreshing executable index: " + e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void refreshChanged(Map<String, DirRecord> dirs) {
+        java.util.List<String> changed = new ArrayList<>();
+        Iterator<Map.Entry<String, DirRecord>> iterator = dirs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, DirRecord> entry = iterator.next();
+            try {
+                long mtime = Files.getLastModifiedTime(Paths.get(entry.getKey())).toMillis();
+                if (mtime != entry.getValue().mtime) {
+                    changed.add(entry.getKey());
+                }
+            } catch (IOException | InvalidPathException e) {
+                iterator.remove(); // Directory is gone
+            }
+        }
+        for (String dirPath : changed) {
+            Path dir = Paths.get(dirPath);
+            DirRecord record = new DirRecord();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                record.mtime = Files.getLastModifiedTime(dir).toMillis();
+                for (Path child : stream) {
+                    BasicFileAttributes attrs = Files.readAttributes(child, BasicFileAttributes.class);
+                    if (attrs.isDirectory()) {
+                        if (!dirs.containsKey(child.toString())) {
+                            walk(child, dirs);
+                        }
+                    } else if (QuickLauncher_v2.isExecutableName(child.getFileName().toString())) {
+                        record.files.add(new FileRecord(child.getFileName().toString(), attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    }
+                }
+                dirs.put(dirPath, record);
+            } catch (IOException e) {
+                dirs.remove(dirPath);
+            }
+        }
+    }
+
+    private static void walk(Path start, Map<String, DirRecord> dirs) {
+        if (!Files.isDirectory(start) || QuickLauncher_v2.isPrunedDirectory(start)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (dir.getFileName() != null && QuickLauncher_v2.isPrunedDirectory(dir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    DirRecord record = new DirRecord();
+                    record.mtime = attrs.lastModifiedTime().toMillis();
+                    dirs.put(dir.toString(), record);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String fileName = file.getFileName().toString();
+                    if (attrs.isRegularFile() && QuickLauncher_v2.isExecutableName(fileName)) {
+                        DirRecord record = dirs.get(file.getParent().toString());
+                        if (record != null) {
+                            record.files.add(new FileRecord(fileName, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Error indexing directory: " + start + ", error: " + e.getMessage());
+        }
+    }
+
+    private void write(Map<String, DirRecord> dirs) throws IOException {
+        long now = System.currentTimeMillis();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(now);
+            out.writeInt(0); // Directory count, patched below
+            out.writeInt(0); // Body length, patched below
+            out.writeInt(0); // Body checksum, patched below
+            int dirCount = 0;
+            for (Map.Entry<String, DirRecord> entry : dirs.entrySet()) {
+                byte[] path = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                if (path.length > Short.MAX_VALUE) {
+                    continue;
+                }
+                DirRecord record = entry.getValue();
+                java.util.List<byte[]> names = new ArrayList<>(record.files.size());
+                for (FileRecord fileRecord : record.files) {
+                    names.add(fileRecord.name.getBytes(StandardCharsets.UTF_8));
+                }
+                out.writeLong(record.mtime);
+                out.writeInt(record.files.size());
+                out.writeShort(path.length);
+                out.write(path);
+                for (int i = 0; i < names.size(); i++) {
+                    FileRecord fileRecord = record.files.get(i);
+                    out.writeLong(fileRecord.size);
+                    out.writeLong(fileRecord.mtime);
+                    out.writeShort(names.get(i).length);
+                    out.write(names.get(i));
+                }
+                dirCount++;
+            }
+            out.flush();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            buffer.putInt(16, dirCount);
+            buffer.putInt(20, buffer.capacity() - HEADER_SIZE);
+            buffer.putInt(24, checksum(buffer));
+            Files.write(tempFile, buffer.array());
+            data = buffer.asReadOnlyBuffer();
+            builtAt = now;
+        }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileSystemException e) {
+            // The old index is still mapped; load() promotes the temp file on the next start.
+            System.err.println("Executable index replaced on next start: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, DirRecord> decode(ByteBuffer source) {
+        ByteBuffer buffer = source.duplicate();
+        int dirCount = buffer.getInt(16);
+        buffer.position(HEADER_SIZE);
+        Map<String, DirRecord> dirs = new LinkedHashMap<>(dirCount * 2);
+        for (int d = 0; d < dirCount; d++) {
+            DirRecord record = new DirRecord();
+            record.mtime = buffer.getLong();
+            int fileCount = buffer.getInt();
+            String dirPath = readString(buffer);
+            for (int f = 0; f < fileCount; f++) {
+                long size = buffer.getLong();
+                long mtime = buffer.getLong();
+                record.files.add(new FileRecord(readString(buffer), size, mtime));
+            }
+            dirs.put(dirPath, record);
+        }
+        return dirs;
+    }
+
+    // Whether buffer holds a whole index of this version: its body has the length and checksum the header records.
+    private static boolean isComplete(ByteBuffer buffer) {
+        return buffer.limit() >= HEADER_SIZE && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION
+            && buffer.getInt(20) == buffer.limit() - HEADER_SIZE && buffer.getInt(24) == checksum(buffer);
+    }
+
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_SIZE));
+        return (int) crc.getValue();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String nameOf(String path) {
+        Path name = Paths.get(path).getFileName();
+        return name != null ? name.toString() : "";
+    }
+
+    private static class DirRecord {
+        long mtime;
+        final java.util.List<FileRecord> files = new ArrayList<>();
+    }
+
+    private static class FileRecord {
+        final String name;
+        final long size;
+        final long mtime;
+
+        FileRecord(String name, long size, long mtime) {
+            this.name = name;
+            this.size = size;
+            this.mtime = mtime;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Write-ahead journal for keywords.txt. Changes are appended as "+alias=target" / "-alias" lines next
+ * to the keywords file and replayed on load; a background thread periodically folds them into the
+ * canonical file by writing a temp file and atomically renaming it over keywords.txt. The canonical
+ * file is never truncated in place, and a torn last journal line (no newline) is ignored on replay.
+ */
+class QuickLauncher_v2_KeywordJournal {
+    private final Path keywordsFile;
+    private final Path journalFile;
+    private final Path tempFile;
+    private final int compactAfter;
+    private final Supplier<QuickLauncher_v2_KeywordStore> snapshot;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "keyword-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private FileChannel channel; // Only touched on the writer thread
+    private int pendingRecords = 0; // Likewise
+
+    QuickLauncher_v2_KeywordJournal(Path keywordsFile, int compactAfter, Supplier<QuickLauncher_v2_KeywordStore> snapshot) {
+        this.keywordsFile = keywordsFile;
+        this.journalFile = keywordsFile.resolveSibling(keywordsFile.getFileName() + ".journal");
+        this.tempFile = keywordsFile.resolveSibling(keywordsFile.getFileName() + ".tmp");
+        this.compactAfter = compactAfter;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Applies journaled changes on top of what was loaded from keywords.txt; returns the number of records.
+     * They are not compacted yet: compaction writes whatever snapshot returns, so the caller publishes the
+     * replayed keywords first and then hands the count to compactReplayed.
+     */
+    int replay(BiConsumer<String, String> put, Consumer<String> remove) {
+        return read(put, remove);
+    }
+
+    // Folds replayed records into keywords.txt in the background; call once snapshot returns the replayed keywords.
+    void compactReplayed(int records) {
+        writer.submit(() -> {
+            pendingRecords += records;
+            compact();
+        });
+    }
+
+    // Passes the journaled changes to put and remove without touching the journal; returns the number of records.
+    int read(BiConsumer<String, String> put, Consumer<String> remove) {
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+        int records = 0;
+        try {
+            String content = new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8);
+            int start = 0;
+            int end;
+            while ((end = content.indexOf('\n', start)) >= 0) {
+                String line = content.substring(start, end).trim();
+                start = end + 1;
+                if (line.startsWith("+") && line.indexOf('=') > 1) {
+                    int split = line.indexOf('=');
+                    put.accept(line.substring(1, split), line.substring(split + 1));
+                    records++;
+                } else if (line.startsWith("-") && line.length() > 1) {
+                    remove.accept(line.substring(1));
+                    records++;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading keyword journal: " + e.getMessage());
+        }
+        return records;
+    }
+
+    void put(String alias, String target) {
+        append("+" + alias + "=" + target + "\n");
+    }
+
+    void remove(String alias) {
+        append("-" + alias + "\n");
+    }
+
+    // Drains pending appends and folds the journal into keywords.txt; used on shutdown.
+    void close() {
+        writer.submit(this::compact);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("Keyword journal did not finish compacting in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(String record) {
+        writer.submit(() -> {
+            try {
+                if (channel == null) {
+                    channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+                ByteBuffer bytes = ByteBuffer.wrap(record.getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+                if (++pendingRecords >= compactAfter) {
+                    compact();
+                }
+            } catch (IOException e) {
+                System.err.println("Error appending to keyword journal: " + e.getMessage());
+            }
+        });
+    }
+
+    private void compact() {
+        if (pendingRecords == 0) {
+            return;
+        }
+        QuickLauncher_v2_KeywordStore keywords = snapshot.get();
+        try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(out), StandardCharsets.UTF_8))) {
+            keywords.write(writer);
+            writer.flush();
+            out.force(true);
+        } catch (IOException e) {
+            System.err.println("Error compacting keywords: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tempFile, keywordsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Anything appended after the snapshot is replayed again on top of the new file, which is harmless.
+            if (channel != null) {
+                channel.truncate(0);
+            } else {
+                Files.deleteIfExists(journalFile);
+            }
+            pendingRecords = 0;
+        } catch (IOException e) {
+            System.err.println("Error replacing keywords file: " + e.getMessage());
+        }
+    }
+}
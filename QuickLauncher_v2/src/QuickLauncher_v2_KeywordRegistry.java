@@ -0,0 +1,217 @@
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * Keyword aliases and their targets, published as immutable snapshots: readers (scan threads, the
+ * UI, daemon requests) get a consistent view with one volatile read and never lock, while writers
+ * serialize and publish. A snapshot is a compact keyword store plus a small overlay of aliases put
+ * or removed since the store was built, so a put copies the overlay rather than every alias; the
+ * overlay is folded into a new store once it grows or when keywords.txt is written. When watched,
+ * an external edit of keywords.txt is applied as a diff, so only changed aliases reach the listeners.
+ */
+class QuickLauncher_v2_KeywordRegistry {
+    private static final long RELOAD_SETTLE_MS = 200; // Editors often write a file in several steps
+    private static final int OVERLAY_LIMIT = 1024; // Aliases changed before the overlay is folded into the store
+
+    private static final class Snapshot {
+        final QuickLauncher_v2_KeywordStore store;
+        final Map<String, String> overlay; // Alias -> target, or null when removed; takes precedence over store
+        final int size;
+
+        Snapshot(QuickLauncher_v2_KeywordStore store, Map<String, String> overlay, int size) {
+            this.store = store;
+            this.overlay = overlay;
+            this.size = size;
+        }
+
+        String get(String alias) {
+            if (!overlay.isEmpty() && overlay.containsKey(alias)) {
+                return overlay.get(alias);
+            }
+            return store.get(alias);
+        }
+    }
+
+    private final Consumer<String> onAdded;
+    private final Consumer<String> onRemoved;
+    private volatile Snapshot snapshot = new Snapshot(QuickLauncher_v2_KeywordStore.EMPTY, Collections.emptyMap(), 0);
+
+    // onAdded and onRemoved see every alias that appears or disappears, e.g. to keep the suggestion trie in step.
+    QuickLauncher_v2_KeywordRegistry(Consumer<String> onAdded, Consumer<String> onRemoved) {
+        this.onAdded = onAdded;
+        this.onRemoved = onRemoved;
+    }
+
+    String get(String alias) {
+        return snapshot.get(alias);
+    }
+
+    boolean containsKey(String alias) {
+        return snapshot.get(alias) != null;
+    }
+
+    int size() {
+        return snapshot.size;
+    }
+
+    boolean isEmpty() {
+        return snapshot.size == 0;
+    }
+
+    // Distinct targets of the current snapshot; may include a target whose last alias was just changed.
+    Collection<String> targets() {
+        Snapshot current = snapshot;
+        if (current.overlay.isEmpty()) {
+            return current.store.targets();
+        }
+        Set<String> targets = new LinkedHashSet<>(current.store.targets());
+        for (String target : current.overlay.values()) {
+            if (target != null) {
+                targets.add(target);
+            }
+        }
+        return targets;
+    }
+
+    synchronized void put(String alias, String target) {
+        Snapshot current = snapshot;
+        String previous = current.get(alias);
+        if (target.equals(previous)) {
+            return;
+        }
+        Map<String, String> overlay = new HashMap<>(current.overlay);
+        overlay.put(alias, target);
+        publish(current.store, overlay, previous == null ? current.size + 1 : current.size);
+        if (previous == null) {
+            onAdded.accept(alias);
+        }
+    }
+
+    synchronized void remove(String alias) {
+        Snapshot current = snapshot;
+        if (current.get(alias) == null) {
+            return;
+        }
+        Map<String, String> overlay = new HashMap<>(current.overlay);
+        overlay.put(alias, null);
+        publish(current.store, overlay, current.size - 1);
+        onRemoved.accept(alias);
+    }
+
+    // The current content as one store, folding the overlay in first; what keywords.txt is written from.
+    synchronized QuickLauncher_v2_KeywordStore compacted() {
+        Snapshot current = snapshot;
+        if (current.overlay.isEmpty()) {
+            return current.store;
+        }
+        QuickLauncher_v2_KeywordStore store = fold(current.store, current.overlay);
+        snapshot = new Snapshot(store, Collections.emptyMap(), store.size());
+        return store;
+    }
+
+    /**
+     * Makes keywords the current content, notifying only the aliases that differ from the previous
+     * snapshot; returns how many aliases were added, removed or retargeted.
+     */
+    synchronized int replaceAll(QuickLauncher_v2_KeywordStore keywords) {
+        QuickLauncher_v2_KeywordStore old = compacted();
+        java.util.List<String> added = new ArrayList<>();
+        java.util.List<String> removed = new ArrayList<>();
+        int retargeted = 0;
+        // Both stores are compared character by character; strings are only made for the aliases that changed
+        for (int i = 0; i < keywords.size(); i++) {
+            String previous = old.targetOf(keywords, i);
+            if (previous == null) {
+                added.add(keywords.alias(i));
+            } else if (!previous.equals(keywords.target(i))) {
+                retargeted++;
+            }
+        }
+        for (int i = 0; i < old.size(); i++) {
+            if (keywords.targetOf(old, i) == null) {
+                removed.add(old.alias(i));
+            }
+        }
+        if (added.isEmpty() && removed.isEmpty() && retargeted == 0) {
+            return 0;
+        }
+        snapshot = new Snapshot(keywords, Collections.emptyMap(), keywords.size());
+        removed.forEach(onRemoved);
+        added.forEach(onAdded);
+        return added.size() + removed.size() + retargeted;
+    }
+
+    private void publish(QuickLauncher_v2_KeywordStore store, Map<String, String> overlay, int size) {
+        if (overlay.size() > OVERLAY_LIMIT) {
+            store = fold(store, overlay);
+            overlay = Collections.emptyMap();
+        }
+        snapshot = new Snapshot(store, Collections.unmodifiableMap(overlay), size);
+    }
+
+    private static QuickLauncher_v2_KeywordStore fold(QuickLauncher_v2_KeywordStore store, Map<String, String> overlay) {
+        QuickLauncher_v2_KeywordStore.Builder builder = store.toBuilder();
+        for (Map.Entry<String, String> entry : overlay.entrySet()) {
+            if (entry.getValue() != null) {
+                builder.put(entry.getKey(), entry.getValue());
+            } else {
+                builder.remove(entry.getKey());
+            }
+        }
+        return builder.build();
+    }
+
+    // Loads under the write lock, so a put cannot slip in between reading the file and publishing it.
+    private synchronized int reload(Callable<QuickLauncher_v2_KeywordStore> load) throws Exception {
+        return replaceAll(load.call());
+    }
+
+    // Re-reads the keywords with load whenever file changes on disk; runs until the process exits.
+    void watch(Path file, Callable<QuickLauncher_v2_KeywordStore> load) {
+        Path dir = file.toAbsolutePath().getParent();
+        Path name = file.getFileName();
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("Keyword file watcher unavailable: " + e.getMessage());
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    WatchKey key = watchService.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= name.equals(event.context()) || event.kind() == StandardWatchEventKinds.OVERFLOW;
+                    }
+                    key.reset();
+                    if (!changed) {
+                        continue;
+                    }
+                    // Let the write settle, then fold any further events for it into this reload
+                    Thread.sleep(RELOAD_SETTLE_MS);
+                    WatchKey more;
+                    while ((more = watchService.poll()) != null) {
+                        more.pollEvents();
+                        more.reset();
+                    }
+                    int changes = reload(load);
+                    if (changes > 0) {
+                        System.out.println("Reloaded " + file + ": " + changes + " keyword changes");
+                    }
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                    return;
+                } catch (Exception e) {
+                    System.err.println("Error reloading " + file + ": " + e.getMessage());
+                }
+            }
+        }, "keyword-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,461 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Immutable alias -> target table sized for very large keyword files. Alias characters are packed
+ * into one shared byte buffer (one byte per ASCII character) and addressed by offset, each distinct
+ * target string is stored once and referenced by index, and lookups probe an open-addressing table
+ * of longs, so an alias costs a few array slots instead of a map entry and two strings. Build one
+ * with a Builder, which the streaming parser feeds directly.
+ */
+final class QuickLauncher_v2_KeywordStore {
+    static final QuickLauncher_v2_KeywordStore EMPTY = new Builder().build();
+
+    // Receives each alias of a keywords.txt line: buffer[start, end) is the lowercased alias, valid only during the call.
+    interface Sink {
+        void keyword(char[] buffer, int start, int end, String target);
+    }
+
+    private final byte[] bytes;     // All aliases back to back, encoded as by encode()
+    private final int[] starts;     // Alias i is bytes[starts[i], starts[i + 1])
+    private final int[] targetOf;   // Alias -> index into targets
+    private final String[] targets; // Distinct targets, in order of first appearance
+    private final long[] slots;     // Open addressing: the alias hash and index, see entry(); 0 is empty
+
+    private QuickLauncher_v2_KeywordStore(byte[] bytes, int[] starts, int[] targetOf, String[] targets, long[] slots) {
+        this.bytes = bytes;
+        this.starts = starts;
+        this.targetOf = targetOf;
+        this.targets = targets;
+        this.slots = slots;
+    }
+
+    int size() {
+        return targetOf.length;
+    }
+
+    String get(String alias) {
+        int hash = alias.hashCode();
+        int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = indexOf(slots[slot]);
+            if (hashOf(slots[slot]) == hash && equals(bytes, starts[index], starts[index + 1], alias)) {
+                return targets[targetOf[index]];
+            }
+        }
+        return null;
+    }
+
+    boolean containsKey(String alias) {
+        return get(alias) != null;
+    }
+
+    String alias(int index) {
+        char[] alias = new char[starts[index + 1] - starts[index]];
+        return new String(alias, 0, decode(bytes, starts[index], starts[index + 1], alias));
+    }
+
+    String target(int index) {
+        return targets[targetOf[index]];
+    }
+
+    // Distinct targets, in order of first appearance.
+    java.util.List<String> targets() {
+        return Collections.unmodifiableList(Arrays.asList(targets));
+    }
+
+    // Target of alias index of other in this store, or null; compares the encoded bytes, so no string is made.
+    String targetOf(QuickLauncher_v2_KeywordStore other, int index) {
+        int start = other.starts[index];
+        int end = other.starts[index + 1];
+        int hash = hash(other.bytes, start, end);
+        int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int found = indexOf(slots[slot]);
+            if (hashOf(slots[slot]) == hash && Arrays.equals(bytes, starts[found], starts[found + 1], other.bytes, start, end)) {
+                return targets[targetOf[found]];
+            }
+        }
+        return null;
+    }
+
+    // Writes the store as keywords.txt: one "alias1,alias2=target" line per target, aliases in insertion order.
+    void write(Writer out) throws IOException {
+        // Counting sort of the aliases by target; only needed here, so the store does not keep it
+        int[] targetStarts = new int[targets.length + 1];
+        for (int target : targetOf) {
+            targetStarts[target + 1]++;
+        }
+        for (int t = 0; t < targets.length; t++) {
+            targetStarts[t + 1] += targetStarts[t];
+        }
+        int[] byTarget = new int[targetOf.length];
+        int[] next = Arrays.copyOf(targetStarts, targets.length);
+        for (int i = 0; i < targetOf.length; i++) {
+            byTarget[next[targetOf[i]]++] = i;
+        }
+        char[] alias = new char[64];
+        for (int t = 0; t < targets.length; t++) {
+            for (int k = targetStarts[t]; k < targetStarts[t + 1]; k++) {
+                int i = byTarget[k];
+                if (k > targetStarts[t]) {
+                    out.write(',');
+                }
+                if (alias.length < starts[i + 1] - starts[i]) {
+                    alias = new char[starts[i + 1] - starts[i]];
+                }
+                out.write(alias, 0, decode(bytes, starts[i], starts[i + 1], alias));
+            }
+            out.write('=');
+            out.write(targets[t]);
+            out.write('\n');
+        }
+    }
+
+    // A builder holding this store's entries, for making a modified copy.
+    Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    // A slot keeps the hash next to the index, so probing past other aliases never touches their arrays.
+    private static long entry(int hash, int index) {
+        return (long) hash << 32 | (index + 1);
+    }
+
+    private static int hashOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    private static int indexOf(long entry) {
+        return (int) entry - 1;
+    }
+
+    // String hashes of similar aliases ("bm1", "bm2") are consecutive, which linear probing turns into long runs.
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /*
+     * Aliases are stored like modified UTF-8: ASCII in one byte, other characters in two or three,
+     * surrogates separately. A string has exactly one encoding, so encoded aliases compare bytewise.
+     */
+
+    // Encodes buffer[start, end) into out at offset; returns the new offset. out needs 3 bytes per char.
+    private static int encode(char[] buffer, int start, int end, byte[] out, int offset) {
+        for (int i = start; i < end; i++) {
+            char c = buffer[i];
+            if (c < 0x80) {
+                out[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                out[offset++] = (byte) (0xC0 | c >> 6);
+                out[offset++] = (byte) (0x80 | c & 0x3F);
+            } else {
+                out[offset++] = (byte) (0xE0 | c >> 12);
+                out[offset++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[offset++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return offset;
+    }
+
+    // Decodes bytes[start, end) into out; returns the number of chars.
+    private static int decode(byte[] bytes, int start, int end, char[] out) {
+        int length = 0;
+        for (int i = start; i < end; i += width(bytes[i])) {
+            out[length++] = charAt(bytes, i);
+        }
+        return length;
+    }
+
+    private static int width(byte first) {
+        return first >= 0 ? 1 : (first & 0xE0) == 0xC0 ? 2 : 3;
+    }
+
+    private static char charAt(byte[] bytes, int i) {
+        int b = bytes[i];
+        if (b >= 0) {
+            return (char) b;
+        } else if ((b & 0xE0) == 0xC0) {
+            return (char) ((b & 0x1F) << 6 | bytes[i + 1] & 0x3F);
+        }
+        return (char) ((b & 0x0F) << 12 | (bytes[i + 1] & 0x3F) << 6 | bytes[i + 2] & 0x3F);
+    }
+
+    private static boolean equals(byte[] bytes, int start, int end, String alias) {
+        int length = alias.length();
+        if (end - start < length || end - start > 3 * length) {
+            return false;
+        }
+        int k = 0;
+        for (int i = start; i < end; i += width(bytes[i]), k++) {
+            if (k == length || alias.charAt(k) != charAt(bytes, i)) {
+                return false;
+            }
+        }
+        return k == length;
+    }
+
+    // Same value as String.hashCode(), so lookups by String can use its cached hash.
+    private static int hash(char[] buffer, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        return hash;
+    }
+
+    private static int hash(byte[] bytes, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i += width(bytes[i])) {
+            hash = 31 * hash + charAt(bytes, i);
+        }
+        return hash;
+    }
+
+    /**
+     * Streams keywords.txt lines ("alias1,alias2=target") into sink straight from one reused read
+     * buffer: no regex and no per-alias strings, just one string per line for the target. Lines are
+     * trimmed, blank lines and lines without '=' are skipped, and aliases are trimmed and lowercased,
+     * with empty ones dropped.
+     */
+    static void parse(Reader reader, Sink sink) throws IOException {
+        char[] buffer = new char[8192];
+        int kept = 0; // The unfinished last line of the previous read, moved to the front
+        int read;
+        while ((read = reader.read(buffer, kept, buffer.length - kept)) >= 0) {
+            int end = kept + read;
+            int lineStart = 0;
+            for (int i = kept; i < end; i++) {
+                char c = buffer[i];
+                if (c == '\n' || c == '\r') {
+                    parseLine(buffer, lineStart, i, sink);
+                    lineStart = i + 1;
+                }
+            }
+            kept = end - lineStart;
+            System.arraycopy(buffer, lineStart, buffer, 0, kept);
+            if (kept == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2); // A line longer than the buffer
+            }
+        }
+        parseLine(buffer, 0, kept, sink);
+    }
+
+    private static void parseLine(char[] line, int start, int end, Sink sink) {
+        while (start < end && line[start] <= ' ') start++;
+        while (end > start && line[end - 1] <= ' ') end--;
+        int equals = start;
+        while (equals < end && line[equals] != '=') equals++;
+        if (equals == end) {
+            return; // Blank, or no '='
+        }
+        int targetStart = equals + 1;
+        while (targetStart < end && line[targetStart] <= ' ') targetStart++;
+        String target = new String(line, targetStart, end - targetStart);
+        int aliasStart = start;
+        while (aliasStart < equals) {
+            int aliasEnd = aliasStart;
+            while (aliasEnd < equals && line[aliasEnd] != ',') aliasEnd++;
+            int next = aliasEnd + 1;
+            while (aliasStart < aliasEnd && line[aliasStart] <= ' ') aliasStart++;
+            while (aliasEnd > aliasStart && line[aliasEnd - 1] <= ' ') aliasEnd--;
+            if (aliasStart < aliasEnd) {
+                for (int i = aliasStart; i < aliasEnd; i++) {
+                    char c = line[i];
+                    line[i] = c < 128 ? (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c) : Character.toLowerCase(c);
+                }
+                sink.keyword(line, aliasStart, aliasEnd, target);
+            }
+            aliasStart = next;
+        }
+    }
+
+    /**
+     * Collects aliases into growable arrays, deduplicating targets as they arrive. A later put of
+     * the same alias retargets it and a remove drops it, so journal replay can run straight on top
+     * of a parsed file.
+     */
+    static final class Builder implements Sink {
+        private byte[] bytes;
+        private int byteCount;
+        private int[] starts;
+        private int[] targetOf; // -1 once removed
+        private int count;
+        private int removed;
+        private boolean orphansPossible; // A remove or retarget may have left a target with no aliases
+        private long[] slots;
+        private byte[] encoded = new byte[192]; // The alias last passed to slot()
+        private int encodedLength;
+        private final java.util.List<String> targets;
+        private final Map<String, Integer> targetIds = new HashMap<>();
+        private String lastTarget; // The parser passes the same target string for every alias of a line
+        private int lastTargetId;
+
+        Builder() {
+            bytes = new byte[1024];
+            starts = new int[129];
+            targetOf = new int[128];
+            slots = new long[256];
+            targets = new ArrayList<>();
+        }
+
+        private Builder(QuickLauncher_v2_KeywordStore store) {
+            int aliases = store.size();
+            bytes = Arrays.copyOf(store.bytes, Math.max(1024, store.bytes.length + store.bytes.length / 4));
+            byteCount = store.bytes.length;
+            starts = Arrays.copyOf(store.starts, aliases + aliases / 4 + 129);
+            targetOf = Arrays.copyOf(store.targetOf, aliases + aliases / 4 + 128);
+            count = aliases;
+            slots = store.slots.clone(); // Same alias indices, so the table carries over as is
+            targets = new ArrayList<>(Arrays.asList(store.targets));
+            for (int t = 0; t < store.targets.length; t++) {
+                targetIds.put(store.targets[t], t);
+            }
+        }
+
+        @Override
+        public void keyword(char[] buffer, int start, int end, String target) {
+            put(buffer, start, end, hash(buffer, start, end), target);
+        }
+
+        void put(String alias, String target) {
+            char[] buffer = alias.toCharArray();
+            put(buffer, 0, buffer.length, alias.hashCode(), target);
+        }
+
+        void remove(String alias) {
+            char[] buffer = alias.toCharArray();
+            int index = indexOf(slots[slot(buffer, 0, buffer.length, alias.hashCode())]);
+            if (index >= 0 && targetOf[index] >= 0) {
+                targetOf[index] = -1;
+                removed++;
+                orphansPossible = true;
+            }
+        }
+
+        QuickLauncher_v2_KeywordStore build() {
+            if (!orphansPossible) {
+                // Nothing to drop: trim the arrays and keep the table, which is at most half full
+                return new QuickLauncher_v2_KeywordStore(Arrays.copyOf(bytes, byteCount), Arrays.copyOf(starts, count + 1),
+                        Arrays.copyOf(targetOf, count), targets.toArray(new String[0]), slots.clone());
+            }
+            // Drop removed aliases and the targets nothing refers to any more
+            int live = count - removed;
+            byte[] packedBytes = new byte[byteCount];
+            int[] packedStarts = new int[live + 1];
+            int[] packedTargets = new int[live];
+            int[] targetRemap = new int[targets.size()];
+            Arrays.fill(targetRemap, -1);
+            java.util.List<String> usedTargets = new ArrayList<>();
+            int slotCount = Integer.highestOneBit(Math.max(2, live) * 2 - 1) << 1; // At most half full
+            long[] packedSlots = new long[slotCount];
+            int mask = slotCount - 1;
+            int n = 0;
+            int b = 0;
+            for (int i = 0; i < count; i++) {
+                int target = targetOf[i];
+                if (target < 0) {
+                    continue;
+                }
+                if (targetRemap[target] < 0) {
+                    targetRemap[target] = usedTargets.size();
+                    usedTargets.add(targets.get(target));
+                }
+                int length = starts[i + 1] - starts[i];
+                System.arraycopy(bytes, starts[i], packedBytes, b, length);
+                packedStarts[n] = b;
+                b += length;
+                packedTargets[n] = targetRemap[target];
+                int hash = hash(bytes, starts[i], starts[i + 1]);
+                int slot = mix(hash) & mask;
+                while (packedSlots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                packedSlots[slot] = entry(hash, n);
+                n++;
+            }
+            packedStarts[n] = b;
+            return new QuickLauncher_v2_KeywordStore(Arrays.copyOf(packedBytes, b), packedStarts, packedTargets,
+                    usedTargets.toArray(new String[0]), packedSlots);
+        }
+
+        private void put(char[] buffer, int start, int end, int hash, String target) {
+            int id = lastTargetId;
+            if (target != lastTarget) {
+                Integer known = targetIds.get(target);
+                if (known == null) {
+                    known = targets.size();
+                    targets.add(target);
+                    targetIds.put(target, known);
+                }
+                lastTarget = target;
+                lastTargetId = id = known;
+            }
+            int slot = slot(buffer, start, end, hash);
+            int index = indexOf(slots[slot]);
+            if (index >= 0) {
+                if (targetOf[index] < 0) {
+                    removed--;
+                } else if (targetOf[index] != id) {
+                    orphansPossible = true;
+                }
+                targetOf[index] = id;
+                return;
+            }
+            if (byteCount + encodedLength > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, byteCount + encodedLength));
+            }
+            if (count == targetOf.length) {
+                int capacity = targetOf.length * 2;
+                starts = Arrays.copyOf(starts, capacity + 1);
+                targetOf = Arrays.copyOf(targetOf, capacity);
+            }
+            System.arraycopy(encoded, 0, bytes, byteCount, encodedLength);
+            starts[count] = byteCount;
+            byteCount += encodedLength;
+            starts[count + 1] = byteCount;
+            targetOf[count] = id;
+            slots[slot] = entry(hash, count++);
+            if (count * 2 > slots.length) {
+                rehash(slots.length * 2);
+            }
+        }
+
+        // Encodes the alias into encoded and returns the slot holding it, or the empty slot where it would go.
+        private int slot(char[] buffer, int start, int end, int hash) {
+            if (encoded.length < 3 * (end - start)) {
+                encoded = new byte[3 * (end - start)];
+            }
+            encodedLength = encode(buffer, start, end, encoded, 0);
+            int mask = slots.length - 1;
+            int slot = mix(hash) & mask;
+            while (slots[slot] != 0) {
+                int index = indexOf(slots[slot]);
+                if (hashOf(slots[slot]) == hash &&
+                    Arrays.equals(bytes, starts[index], starts[index + 1], encoded, 0, encodedLength)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash(int capacity) {
+            long[] old = slots;
+            slots = new long[capacity];
+            int mask = capacity - 1;
+            for (long entry : old) {
+                if (entry != 0) {
+                    int slot = mix(hashOf(entry)) & mask;
+                    while (slots[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    slots[slot] = entry;
+                }
+            }
+        }
+    }
+}
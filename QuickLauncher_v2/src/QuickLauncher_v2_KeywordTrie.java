@@ -0,0 +1,105 @@
+import java.util.*;
+
+/**
+ * Prefix trie over keyword aliases, stored as parallel arrays (first-child / next-sibling) instead of
+ * node objects. Siblings are kept sorted so suggestions come out alphabetically, and a lookup only
+ * visits the prefix path plus as many nodes as it takes to collect the requested number of aliases.
+ */
+class QuickLauncher_v2_KeywordTrie {
+    private char[] labels = new char[1024];
+    private int[] firstChild = new int[1024];
+    private int[] nextSibling = new int[1024];
+    private final BitSet terminal = new BitSet();
+    private int nodeCount = 1; // Node 0 is the root
+    private int size = 0;
+
+    QuickLauncher_v2_KeywordTrie() {
+        firstChild[0] = -1;
+        nextSibling[0] = -1;
+    }
+
+    synchronized void add(String alias) {
+        int node = 0;
+        for (int i = 0; i < alias.length(); i++) {
+            node = child(node, alias.charAt(i), true);
+        }
+        if (!terminal.get(node)) {
+            terminal.set(node);
+            size++;
+        }
+    }
+
+    synchronized void remove(String alias) {
+        int node = find(alias);
+        if (node >= 0 && terminal.get(node)) {
+            terminal.clear(node);
+            size--;
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // Aliases starting with prefix, alphabetically, at most limit of them.
+    synchronized java.util.List<String> suggest(String prefix, int limit) {
+        java.util.List<String> suggestions = new ArrayList<>(limit);
+        int start = find(prefix);
+        if (start < 0 || limit <= 0) {
+            return suggestions;
+        }
+        StringBuilder alias = new StringBuilder(prefix);
+        collect(start, alias, suggestions, limit);
+        return suggestions;
+    }
+
+    private void collect(int node, StringBuilder alias, java.util.List<String> suggestions, int limit) {
+        if (terminal.get(node)) {
+            suggestions.add(alias.toString());
+        }
+        for (int c = firstChild[node]; c >= 0 && suggestions.size() < limit; c = nextSibling[c]) {
+            alias.append(labels[c]);
+            collect(c, alias, suggestions, limit);
+            alias.setLength(alias.length() - 1);
+        }
+    }
+
+    private int find(String prefix) {
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            node = child(node, prefix.charAt(i), false);
+        }
+        return node;
+    }
+
+    private int child(int parent, char label, boolean create) {
+        int previous = -1;
+        int c = firstChild[parent];
+        while (c >= 0 && labels[c] < label) {
+            previous = c;
+            c = nextSibling[c];
+        }
+        if (c >= 0 && labels[c] == label) {
+            return c;
+        }
+        if (!create) {
+            return -1;
+        }
+        if (nodeCount == labels.length) {
+            int capacity = labels.length * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+        }
+        int node = nodeCount++;
+        labels[node] = label;
+        firstChild[node] = -1;
+        nextSibling[node] = c;
+        if (previous < 0) {
+            firstChild[parent] = node;
+        } else {
+            nextSibling[previous] = node;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,273 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Launch history with frecency: every launch adds 1 to a score that halves every half-life, kept per
+ * (query, target) pair and per target (under the empty query). A score is stored as its log2 plus
+ * the time in half-lives, which stays fixed while the score decays, so an update is one log and
+ * entries compare directly. The binary file is a header and appended (query, target, key) records;
+ * the last record of a pair wins on load, a torn last record is ignored, and a background thread
+ * rewrites the file with just the live pairs once enough records pile up.
+ */
+class QuickLauncher_v2_LaunchHistory {
+    private static final int MAGIC = 0x514C4831; // "QLH1"
+    private static final double FORGOTTEN_SCORE = 0.01; // Dropped on compaction, about 7 half-lives after the last launch
+
+    private final Path file;
+    private final Path tempFile;
+    private final double halfLifeMs;
+    private final int compactAfter;
+    private final Map<String, Map<String, Double>> keys = new HashMap<>(); // Query -> target -> key; "" is any query
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "launch-history");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private FileChannel channel; // Only touched on the writer thread
+    private int pendingRecords = 0; // Records added since the file was last compacted; only touched on the writer thread
+
+    QuickLauncher_v2_LaunchHistory(Path file, double halfLifeDays, int compactAfter) {
+        this.file = file;
+        this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.halfLifeMs = halfLifeDays * TimeUnit.DAYS.toMillis(1);
+        this.compactAfter = compactAfter;
+    }
+
+    // Reads the history file; returns the number of records read.
+    int load() {
+        int records = 0;
+        int pairs = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                System.err.println("Not a launch history file, ignoring: " + file);
+                return 0;
+            }
+            while (true) {
+                String query = in.readUTF();
+                String target = in.readUTF();
+                double key = in.readDouble();
+                synchronized (this) {
+                    if (keys.computeIfAbsent(query, q -> new HashMap<>()).put(target, key) == null) {
+                        pairs++;
+                    }
+                }
+                records++;
+            }
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (EOFException e) {
+            // End of file, or a record torn by a crash mid-append
+        } catch (IOException e) {
+            System.err.println("Error reading launch history: " + e.getMessage());
+        }
+        int superseded = records - pairs; // A compaction keeps one record per pair, so only the rest count
+        writer.submit(() -> {
+            pendingRecords += superseded;
+            if (pendingRecords >= compactAfter) {
+                compact();
+            }
+        });
+        return records;
+    }
+
+    // Records a launch of target for query (lowercase); cheap enough to call on every launch.
+    void record(String query, String target) {
+        double now = now();
+        double queryKey;
+        double targetKey;
+        synchronized (this) {
+            queryKey = bump(query, target, now);
+            targetKey = bump("", target, now);
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            write(out, query, target, queryKey);
+            write(out, "", target, targetKey);
+            append(bytes.toByteArray(), 2);
+        } catch (IOException | RuntimeException e) { // writeUTF rejects strings over 64 KB
+            System.err.println("Error recording launch: " + e.getMessage());
+        }
+    }
+
+    private double bump(String query, String target, double now) {
+        Map<String, Double> targets = keys.computeIfAbsent(query, q -> new HashMap<>());
+        Double old = targets.get(target);
+        double key = now + log2(1 + (old != null ? Math.pow(2, old - now) : 0));
+        targets.put(target, key);
+        return key;
+    }
+
+    // Current score of target for query; "" scores the target across all queries.
+    synchronized double score(String query, String target) {
+        Map<String, Double> targets = keys.get(query);
+        Double key = targets != null ? targets.get(target) : null;
+        return key != null ? Math.pow(2, key - now()) : 0;
+    }
+
+    // Every target launched and not yet forgotten.
+    synchronized java.util.List<String> targets() {
+        Map<String, Double> targets = keys.get("");
+        return targets != null ? new ArrayList<>(targets.keySet()) : new ArrayList<>();
+    }
+
+    // Moves previously launched paths to the front: first by score for this query, then overall; others keep their order.
+    java.util.List<String> rank(java.util.List<String> paths, String query) {
+        Map<String, double[]> scores = new HashMap<>();
+        for (String path : paths) {
+            double queryScore = score(query, path);
+            double targetScore = score("", path);
+            if (targetScore > 0) {
+                scores.put(path, new double[]{queryScore, targetScore});
+            }
+        }
+        if (scores.isEmpty()) {
+            return paths;
+        }
+        java.util.List<String> ranked = new ArrayList<>(paths);
+        ranked.sort((a, b) -> {
+            double[] scoreA = scores.get(a);
+            double[] scoreB = scores.get(b);
+            if (scoreA == null || scoreB == null) {
+                return scoreA != null ? -1 : scoreB != null ? 1 : 0;
+            }
+            int byQuery = Double.compare(scoreB[0], scoreA[0]);
+            return byQuery != 0 ? byQuery : Double.compare(scoreB[1], scoreA[1]);
+        });
+        return ranked;
+    }
+
+    /**
+     * The local file most launched for queries that start with partialQuery (or have a word that
+     * does), if it has at least minScore and at least minShare of the score of all such launches;
+     * otherwise null.
+     */
+    synchronized String confidentTarget(String partialQuery, double minShare, double minScore) {
+        if (partialQuery.isEmpty()) {
+            return null;
+        }
+        double now = now();
+        String compactQuery = partialQuery.replace(" ", "");
+        Map<String, Double> totals = new HashMap<>();
+        double sum = 0;
+        for (Map.Entry<String, Map<String, Double>> query : keys.entrySet()) {
+            String recorded = query.getKey();
+            if (recorded.isEmpty() || !(recorded.startsWith(partialQuery) || recorded.contains(" " + partialQuery) ||
+                                        recorded.replace(" ", "").startsWith(compactQuery))) {
+                continue;
+            }
+            for (Map.Entry<String, Double> target : query.getValue().entrySet()) {
+                double score = Math.pow(2, target.getValue() - now);
+                totals.merge(target.getKey(), score, Double::sum);
+                sum += score;
+            }
+        }
+        String best = null;
+        double bestScore = 0;
+        for (Map.Entry<String, Double> total : totals.entrySet()) {
+            // URLs from keyword commands cannot stand in for a search
+            if (total.getValue() > bestScore && !total.getKey().contains("://")) {
+                best = total.getKey();
+                bestScore = total.getValue();
+            }
+        }
+        return best != null && bestScore >= minScore && bestScore >= minShare * sum ? best : null;
+    }
+
+    // Drains pending appends; used on shutdown.
+    void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("Launch history did not finish writing in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(byte[] records, int count) {
+        writer.submit(() -> {
+            try {
+                if (channel == null) {
+                    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                    if (channel.size() == 0) {
+                        channel.write(ByteBuffer.allocate(4).putInt(0, MAGIC));
+                    }
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(records);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+                pendingRecords += count;
+                if (pendingRecords >= compactAfter) {
+                    compact();
+                }
+            } catch (IOException e) {
+                System.err.println("Error appending to launch history: " + e.getMessage());
+            }
+        });
+    }
+
+    // Rewrites the file with one record per live pair; runs on the writer thread.
+    private void compact() {
+        double now = now();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            synchronized (this) {
+                for (Map.Entry<String, Map<String, Double>> query : keys.entrySet()) {
+                    query.getValue().values().removeIf(key -> Math.pow(2, key - now) < FORGOTTEN_SCORE);
+                    for (Map.Entry<String, Double> target : query.getValue().entrySet()) {
+                        write(out, query.getKey(), target.getKey(), target.getValue());
+                    }
+                }
+                keys.values().removeIf(Map::isEmpty);
+            }
+        } catch (IOException e) {
+            System.err.println("Error compacting launch history: " + e.getMessage());
+            return;
+        }
+        try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        } catch (IOException e) {
+            System.err.println("Error compacting launch history: " + e.getMessage());
+            return;
+        }
+        try {
+            if (channel != null) {
+                channel.close(); // Appends go to the new file from here on
+                channel = null;
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            pendingRecords = 0; // Not the live pairs: once they reached compactAfter, every record would compact again
+        } catch (IOException e) {
+            System.err.println("Error replacing launch history: " + e.getMessage());
+        }
+    }
+
+    private static void write(DataOutputStream out, String query, String target, double key) throws IOException {
+        out.writeUTF(query);
+        out.writeUTF(target);
+        out.writeDouble(key);
+    }
+
+    // Now, in half-lives since the epoch.
+    private double now() {
+        return System.currentTimeMillis() / halfLifeMs;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Runs the blocking part of launches (opening files and URLs, process and file checks, wiki probes)
+ * off the event thread. Every step returns the UI update to apply when it is done; steps submitted
+ * together run in parallel, but their updates are delivered in submission order. A step that takes
+ * longer than the timeout is reported as failed and its late result is dropped. Steps run on
+ * virtual threads when the runtime has them (Java 21+), otherwise on a cached pool of daemon threads.
+ */
+class QuickLauncher_v2_LaunchPipeline {
+    interface Step {
+        // Does the blocking work and returns what to show once it is done.
+        Runnable run() throws Exception;
+    }
+
+    private final ExecutorService workers = newWorkers();
+    private final long timeoutMs;
+    private final Consumer<Runnable> ui;
+
+    QuickLauncher_v2_LaunchPipeline(long timeoutMs, Consumer<Runnable> ui) {
+        this.timeoutMs = timeoutMs;
+        this.ui = ui;
+    }
+
+    private static ExecutorService newWorkers() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threads = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "QuickLauncher-launch-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    CompletableFuture<Void> submit(String name, Step step, BiFunction<String, Throwable, Runnable> onFailure) {
+        return fanOut(java.util.Collections.singletonList(name), java.util.Collections.singletonList(step), onFailure);
+    }
+
+    // Starts every step at once; each update waits for the ones before it, so the UI sees them in order.
+    CompletableFuture<Void> fanOut(java.util.List<String> names, java.util.List<Step> steps,
+                                   BiFunction<String, Throwable, Runnable> onFailure) {
+        CompletableFuture<Void> delivered = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < steps.size(); i++) {
+            CompletableFuture<Runnable> update = start(names.get(i), steps.get(i), onFailure);
+            delivered = delivered.thenCombine(update, (previous, next) -> next).thenAccept(ui);
+        }
+        return delivered;
+    }
+
+    private CompletableFuture<Runnable> start(String name, Step step, BiFunction<String, Throwable, Runnable> onFailure) {
+        CompletableFuture<Runnable> update;
+        try {
+            update = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return step.run();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, workers);
+        } catch (RejectedExecutionException e) {
+            update = CompletableFuture.failedFuture(e); // Shutting down
+        }
+        return update.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(error -> onFailure.apply(name, error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error));
+    }
+
+    void shutdown() {
+        workers.shutdownNow();
+    }
+}
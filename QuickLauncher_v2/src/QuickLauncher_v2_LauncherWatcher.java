@@ -0,0 +1,160 @@
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps an in-memory catalog of the executables under LAUNCHER_DIRS, updated from WatchService events.
+ * Directories are registered breadth-first so that, once maxKeys is reached, the shallow levels where
+ * games get installed stay watched and only deep subtrees are left to the initial scan.
+ */
+class QuickLauncher_v2_LauncherWatcher implements Runnable {
+    private final java.util.List<Path> roots;
+    private final int maxKeys;
+    private final java.util.function.Consumer<String> onDiscovered;
+    private final Map<Path, Set<String>> catalog = new ConcurrentHashMap<>(); // Directory -> executable names
+    private final Map<WatchKey, Path> keys = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private boolean capped = false; // Whether the last registration found maxKeys reached
+
+    QuickLauncher_v2_LauncherWatcher(java.util.List<Path> roots, int maxKeys, java.util.function.Consumer<String> onDiscovered) {
+        this.roots = roots;
+        this.maxKeys = maxKeys;
+        this.onDiscovered = onDiscovered;
+    }
+
+    void start() {
+        Thread thread = new Thread(this, "launcher-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    java.util.List<String> find(String originalGameName, String normalizedGameName) {
+        java.util.List<String> results = new ArrayList<>();
+        for (Map.Entry<Path, Set<String>> entry : catalog.entrySet()) {
+            Path dir = entry.getKey();
+            Path dirName = dir.getFileName();
+            for (String fileName : entry.getValue()) {
+                String match = QuickLauncher_v2.matchExecutable(dir.toString(), dirName != null ? dirName.toString() : "",
+                        fileName, originalGameName, normalizedGameName);
+                if (match != null && !results.contains(match)) {
+                    results.add(match);
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void run() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            System.err.println("Launcher watcher unavailable: " + e.getMessage());
+            return;
+        }
+        for (Path root : roots) {
+            registerTree(root);
+        }
+        System.out.println("Watching " + keys.size() + " launcher directories, " + catalog.size() + " cataloged");
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path dir = keys.get(key);
+            if (dir != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    handleEvent(dir, event);
+                }
+            }
+            if (!key.reset()) {
+                keys.remove(key);
+                if (dir != null) {
+                    removeTree(dir);
+                }
+            }
+        }
+    }
+
+    private void handleEvent(Path dir, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            // Events were dropped; only this subtree can be out of date.
+            removeTree(dir);
+            registerTree(dir);
+            return;
+        }
+        Path child = dir.resolve((Path) event.context());
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+            if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                registerTree(child);
+            } else if (QuickLauncher_v2.isExecutableName(child.getFileName().toString())) {
+                catalog.computeIfAbsent(dir, k -> ConcurrentHashMap.newKeySet()).add(child.getFileName().toString());
+                onDiscovered.accept(child.toString());
+            }
+        } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            Set<String> files = catalog.get(dir);
+            if (files != null) {
+                files.remove(child.getFileName().toString());
+            }
+            removeTree(child);
+        }
+    }
+
+    private void registerTree(Path start) {
+        if (!Files.isDirectory(start) || QuickLauncher_v2.isPrunedDirectory(start)) {
+            return;
+        }
+        Deque<Path> pending = new ArrayDeque<>();
+        pending.add(start);
+        while (!pending.isEmpty()) {
+            Path dir = pending.poll();
+            if (keys.size() < maxKeys) {
+                capped = false; // Deleted directories freed keys, so reaching the cap again is reported again
+                try {
+                    WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+                    keys.put(key, dir);
+                } catch (IOException e) {
+                    System.err.println("Cannot watch directory: " + dir + ", error: " + e.getMessage());
+                }
+            } else if (!capped) {
+                capped = true;
+                System.err.println("Launcher watcher reached watch.max.keys (" + maxKeys + "); deeper directories are not watched.");
+            }
+            Set<String> files = ConcurrentHashMap.newKeySet();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path child : stream) {
+                    BasicFileAttributes attrs = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attrs.isDirectory()) {
+                        if (!QuickLauncher_v2.isPrunedDirectory(child)) {
+                            pending.add(child);
+                        }
+                    } else if (QuickLauncher_v2.isExecutableName(child.getFileName().toString())) {
+                        files.add(child.getFileName().toString());
+                        onDiscovered.accept(child.toString());
+                    }
+                }
+            } catch (IOException e) {
+                continue;
+            }
+            if (!files.isEmpty()) {
+                catalog.put(dir, files);
+            }
+        }
+    }
+
+    private void removeTree(Path dir) {
+        catalog.keySet().removeIf(path -> path.startsWith(dir));
+        Iterator<Map.Entry<WatchKey, Path>> iterator = keys.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<WatchKey, Path> entry = iterator.next();
+            if (entry.getValue().startsWith(dir) && !entry.getValue().equals(dir)) {
+                entry.getKey().cancel();
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,443 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Installed games as the launchers themselves record them: Steam libraryfolders.vdf and
+ * appmanifest_*.acf, Epic Manifests/*.item and the XboxGames/<game>/Content layout. Lookups match the
+ * query against game names and resolve executables directly, so most searches never walk the disk.
+ * The manifest directories are constructor arguments, which lets fixture trees stand in for real
+ * installs; they are re-read when one of them changes.
+ */
+class QuickLauncher_v2_ManifestCatalog {
+    private static final Pattern JSON_STRING = Pattern.compile("\"(\\w+)\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern JSON_BOOLEAN = Pattern.compile("\"(\\w+)\"\\s*:\\s*(true|false)");
+    private static final Pattern XBOX_EXECUTABLE = Pattern.compile("<Executable\\s[^>]*Name=\"([^\"]+)\"");
+    // Executables shipped next to games that are never what the user wants to start
+    private static final String[] HELPER_NAMES = {
+        "unins", "crashhandler", "crashreport", "redist", "setup", "installer", "prereq", "dxwebsetup",
+        "easyanticheat", "battleye", "dotnet", "vcredist", "directx"
+    };
+    private static final int MAX_EXECUTABLE_DEPTH = 4;
+    private static final int MAX_EXECUTABLE_ENTRIES = 5000;
+    private static final int MAX_EXECUTABLES = 5;
+
+    private final java.util.List<Path> steamDirs;
+    private final java.util.List<Path> epicManifestDirs;
+    private final java.util.List<Path> xboxDirs;
+    private volatile Snapshot snapshot;
+    private final Map<Path, java.util.List<String>> resolved = new ConcurrentHashMap<>(); // Install dir -> executables
+
+    QuickLauncher_v2_ManifestCatalog(java.util.List<Path> steamDirs, java.util.List<Path> epicManifestDirs,
+                                     java.util.List<Path> xboxDirs) {
+        this.steamDirs = steamDirs;
+        this.epicManifestDirs = epicManifestDirs;
+        this.xboxDirs = xboxDirs;
+    }
+
+    // Executables of installed games whose name contains the (lowercase) query, best candidates first.
+    java.util.List<String> find(String originalName, String normalizedName) {
+        java.util.List<String> executables = new ArrayList<>();
+        for (Game game : refresh().games) {
+            if (game.matches(originalName, normalizedName)) {
+                executables.addAll(executables(game));
+            }
+        }
+        return executables;
+    }
+
+    int size() {
+        return refresh().games.size();
+    }
+
+    // Re-reads the manifests if any manifest directory changed since the last read.
+    Snapshot refresh() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isStale()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.isStale()) {
+                current = load();
+                snapshot = current;
+                resolved.clear();
+            }
+            return current;
+        }
+    }
+
+    private Snapshot load() {
+        java.util.List<Game> games = new ArrayList<>();
+        Map<Path, Long> stamps = new HashMap<>();
+        for (Path steamDir : steamDirs) {
+            Path steamApps = steamDir.resolve("steamapps");
+            Set<Path> libraries = new LinkedHashSet<>();
+            libraries.add(steamDir.toAbsolutePath().normalize());
+            stamp(stamps, steamApps);
+            libraries.addAll(steamLibraries(steamApps.resolve("libraryfolders.vdf")));
+            for (Path library : libraries) {
+                Path libraryApps = library.resolve("steamapps");
+                stamp(stamps, libraryApps);
+                loadSteamLibrary(libraryApps, games);
+            }
+        }
+        for (Path manifestDir : epicManifestDirs) {
+            stamp(stamps, manifestDir);
+            loadEpicManifests(manifestDir, games);
+        }
+        for (Path xboxDir : xboxDirs) {
+            stamp(stamps, xboxDir);
+            loadXboxGames(xboxDir, games);
+        }
+        return new Snapshot(games, stamps);
+    }
+
+    private static void stamp(Map<Path, Long> stamps, Path dir) {
+        stamps.put(dir, lastModified(dir));
+    }
+
+    private static long lastModified(Path dir) {
+        try {
+            return Files.getLastModifiedTime(dir).toMillis();
+        } catch (IOException e) {
+            return -1; // Missing directories count as unchanged until they appear
+        }
+    }
+
+    // Library folders listed in libraryfolders.vdf, in both the old ("1" "D:\\Lib") and new ("path") formats.
+    private static java.util.List<Path> steamLibraries(Path libraryFolders) {
+        java.util.List<Path> libraries = new ArrayList<>();
+        Object folders = null;
+        for (Map.Entry<String, Object> entry : readVdf(libraryFolders).entrySet()) {
+            if (entry.getKey().equalsIgnoreCase("libraryfolders")) { // Old files spell it LibraryFolders
+                folders = entry.getValue();
+            }
+        }
+        if (!(folders instanceof Map)) {
+            return libraries;
+        }
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) folders).entrySet()) {
+            Object value = entry.getValue();
+            String path = null;
+            if (value instanceof Map) {
+                Object nested = ((Map<?, ?>) value).get("path");
+                path = nested instanceof String ? (String) nested : null;
+            } else if (value instanceof String && ((String) entry.getKey()).matches("\\d+")) {
+                path = (String) value;
+            }
+            if (path != null && !path.isEmpty()) {
+                try {
+                    libraries.add(Paths.get(path).toAbsolutePath().normalize());
+                } catch (InvalidPathException e) {
+                    System.err.println("Invalid Steam library path: " + path);
+                }
+            }
+        }
+        return libraries;
+    }
+
+    private static void loadSteamLibrary(Path steamApps, java.util.List<Game> games) {
+        try (DirectoryStream<Path> manifests = Files.newDirectoryStream(steamApps, "appmanifest_*.acf")) {
+            for (Path manifest : manifests) {
+                Object state = readVdf(manifest).get("AppState");
+                if (!(state instanceof Map)) {
+                    continue;
+                }
+                Object name = ((Map<?, ?>) state).get("name");
+                Object installDir = ((Map<?, ?>) state).get("installdir");
+                if (name instanceof String && installDir instanceof String && !((String) installDir).isEmpty()) {
+                    games.add(new Game((String) name, steamApps.resolve("common").resolve((String) installDir), null));
+                }
+            }
+        } catch (NoSuchFileException | NotDirectoryException e) {
+            // No such library
+        } catch (IOException | DirectoryIteratorException e) {
+            System.err.println("Error reading Steam library: " + steamApps + ", error: " + e.getMessage());
+        }
+    }
+
+    private static void loadEpicManifests(Path manifestDir, java.util.List<Game> games) {
+        try (DirectoryStream<Path> manifests = Files.newDirectoryStream(manifestDir, "*.item")) {
+            for (Path manifest : manifests) {
+                String json;
+                try {
+                    json = new String(Files.readAllBytes(manifest), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    System.err.println("Error reading Epic manifest: " + manifest + ", error: " + e.getMessage());
+                    continue;
+                }
+                Map<String, String> fields = new HashMap<>();
+                Matcher strings = JSON_STRING.matcher(json);
+                while (strings.find()) {
+                    fields.putIfAbsent(strings.group(1), unescapeJson(strings.group(2)));
+                }
+                Matcher booleans = JSON_BOOLEAN.matcher(json);
+                while (booleans.find()) {
+                    fields.putIfAbsent(booleans.group(1), booleans.group(2));
+                }
+                String name = fields.get("DisplayName");
+                String location = fields.get("InstallLocation");
+                if (name == null || location == null || "true".equals(fields.get("bIsIncompleteInstall"))) {
+                    continue;
+                }
+                try {
+                    Path installDir = Paths.get(location);
+                    String launch = fields.get("LaunchExecutable");
+                    games.add(new Game(name, installDir, launch != null && !launch.isEmpty() ? installDir.resolve(launch) : null));
+                } catch (InvalidPathException e) {
+                    System.err.println("Invalid path in Epic manifest: " + manifest);
+                }
+            }
+        } catch (NoSuchFileException | NotDirectoryException e) {
+            // Epic is not installed
+        } catch (IOException | DirectoryIteratorException e) {
+            System.err.println("Error reading Epic manifests: " + manifestDir + ", error: " + e.getMessage());
+        }
+    }
+
+    private static void loadXboxGames(Path xboxDir, java.util.List<Game> games) {
+        try (DirectoryStream<Path> gameDirs = Files.newDirectoryStream(xboxDir, Files::isDirectory)) {
+            for (Path gameDir : gameDirs) {
+                Path content = gameDir.resolve("Content");
+                if (!Files.isDirectory(content)) {
+                    continue;
+                }
+                Path launch = content.resolve("gamelaunchhelper.exe");
+                if (!Files.exists(launch)) {
+                    launch = null;
+                    try {
+                        Matcher executable = XBOX_EXECUTABLE.matcher(
+                            new String(Files.readAllBytes(content.resolve("MicrosoftGame.config")), StandardCharsets.UTF_8));
+                        if (executable.find()) {
+                            launch = content.resolve(executable.group(1));
+                        }
+                    } catch (IOException e) {
+                        // No MicrosoftGame.config; fall back to the executables in Content
+                    }
+                }
+                games.add(new Game(gameDir.getFileName().toString(), content, launch));
+            }
+        } catch (NoSuchFileException | NotDirectoryException e) {
+            // No Xbox games on this drive
+        } catch (IOException | DirectoryIteratorException e) {
+            System.err.println("Error reading Xbox games: " + xboxDir + ", error: " + e.getMessage());
+        }
+    }
+
+    // The manifest's launch executable if it exists, otherwise the best-named executables in the install dir.
+    private java.util.List<String> executables(Game game) {
+        if (game.launch != null && Files.isRegularFile(game.launch)) {
+            return Collections.singletonList(game.launch.toAbsolutePath().toString());
+        }
+        return resolved.computeIfAbsent(game.installDir, dir -> {
+            java.util.List<String> candidates = new ArrayList<>();
+            collectExecutables(dir, candidates);
+            java.util.List<String> ranked = QuickLauncher_v2_TrigramIndex.rank(candidates, game.name);
+            if (ranked.isEmpty()) {
+                ranked = candidates; // Nothing scores well against the name; keep every candidate
+            }
+            return Collections.unmodifiableList(new ArrayList<>(ranked.subList(0, Math.min(MAX_EXECUTABLES, ranked.size()))));
+        });
+    }
+
+    // Bounded walk of one install directory; games keep their launchers near the top.
+    private static void collectExecutables(Path installDir, java.util.List<String> candidates) {
+        if (!Files.isDirectory(installDir)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(installDir, EnumSet.noneOf(FileVisitOption.class), MAX_EXECUTABLE_DEPTH, new SimpleFileVisitor<Path>() {
+                private int entries = 0;
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return QuickLauncher_v2.isPrunedDirectory(dir) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String fileName = file.getFileName().toString();
+                    if (attrs.isRegularFile() && QuickLauncher_v2.isExecutableName(fileName) && !isHelper(fileName)) {
+                        candidates.add(file.toAbsolutePath().toString());
+                    }
+                    return ++entries >= MAX_EXECUTABLE_ENTRIES ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Error listing executables in: " + installDir + ", error: " + e.getMessage());
+        }
+    }
+
+    private static boolean isHelper(String fileName) {
+        for (String helper : HELPER_NAMES) {
+            if (QuickLauncher_v2_ScanRules.containsIgnoreCase(fileName, helper)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String unescapeJson(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 'n': result.append('\n'); break;
+                    case 't': result.append('\t'); break;
+                    case 'u':
+                        int code = hexCode(value, i + 1);
+                        if (code >= 0) {
+                            result.append((char) code);
+                            i += 4;
+                        } else {
+                            result.append(next); // Malformed or truncated, kept as a literal like other unknown escapes
+                        }
+                        break;
+                    default: result.append(next); break; // \\ \" \/
+                }
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    // The four hex digits at start as a char code, or -1 when there are fewer than four.
+    private static int hexCode(String value, int start) {
+        if (start + 4 > value.length()) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = start; i < start + 4; i++) {
+            int digit = Character.digit(value.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            code = code << 4 | digit;
+        }
+        return code;
+    }
+
+    // Valve KeyValues text: "key" "value" pairs and "key" { ... } blocks; // comments are skipped.
+    static Map<String, Object> readVdf(Path file) {
+        String text;
+        try {
+            text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return Collections.emptyMap();
+        } catch (IOException e) {
+            System.err.println("Error reading " + file + ": " + e.getMessage());
+            return Collections.emptyMap();
+        }
+        return parseVdf(text, new int[]{0});
+    }
+
+    private static Map<String, Object> parseVdf(String text, int[] position) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        String key = null;
+        while (position[0] < text.length()) {
+            char c = text.charAt(position[0]);
+            if (c == '"') {
+                String token = readVdfString(text, position);
+                if (key == null) {
+                    key = token;
+                } else {
+                    values.put(key, token);
+                    key = null;
+                }
+            } else if (c == '{') {
+                position[0]++;
+                Map<String, Object> block = parseVdf(text, position);
+                if (key != null) {
+                    values.put(key, block);
+                    key = null;
+                }
+            } else if (c == '}') {
+                position[0]++;
+                return values;
+            } else if (c == '/' && text.startsWith("//", position[0])) {
+                int end = text.indexOf('\n', position[0]);
+                position[0] = end < 0 ? text.length() : end;
+            } else {
+                position[0]++;
+            }
+        }
+        return values;
+    }
+
+    private static String readVdfString(String text, int[] position) {
+        StringBuilder token = new StringBuilder();
+        int i = position[0] + 1;
+        while (i < text.length() && text.charAt(i) != '"') {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                token.append(next == 'n' ? '\n' : next == 't' ? '\t' : next);
+            } else {
+                token.append(c);
+            }
+            i++;
+        }
+        position[0] = i + 1;
+        return token.toString();
+    }
+
+    private static final class Game {
+        final String name;
+        final String lowerName;
+        final String normalizedName;
+        final String lowerDirName;
+        final Path installDir;
+        final Path launch; // From the manifest, when it names one
+
+        Game(String name, Path installDir, Path launch) {
+            this.name = name;
+            this.lowerName = name.toLowerCase();
+            this.normalizedName = lowerName.replaceAll("\\s+", "");
+            Path dirName = installDir.getFileName();
+            this.lowerDirName = dirName != null ? dirName.toString().toLowerCase() : "";
+            this.installDir = installDir;
+            this.launch = launch;
+        }
+
+        boolean matches(String originalName, String normalizedQuery) {
+            return lowerName.contains(originalName) || normalizedName.contains(normalizedQuery) ||
+                   lowerDirName.contains(originalName) || lowerDirName.contains(normalizedQuery);
+        }
+    }
+
+    static final class Snapshot {
+        final java.util.List<Game> games;
+        private final Map<Path, Long> stamps;
+
+        Snapshot(java.util.List<Game> games, Map<Path, Long> stamps) {
+            this.games = games;
+            this.stamps = stamps;
+        }
+
+        boolean isStale() {
+            for (Map.Entry<Path, Long> stamp : stamps.entrySet()) {
+                if (lastModified(stamp.getKey()) != stamp.getValue()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
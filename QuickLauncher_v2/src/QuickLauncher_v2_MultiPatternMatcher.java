@@ -0,0 +1,115 @@
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton over up to 64 lowercase patterns. match() runs in one pass over the text,
+ * folding case as it goes, and returns a bit mask of the pattern ids that occur in it, so a scan can
+ * test every pending query against a raw file name without allocating.
+ */
+class QuickLauncher_v2_MultiPatternMatcher {
+    static final int MAX_PATTERNS = 64;
+
+    private final java.util.List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final int[] failure;
+    private final long[] output;
+    // Dense transition table for the characters that occur in patterns; other characters reset to the root.
+    private int[][] table;
+    private final Map<Character, Integer> alphabet = new HashMap<>();
+    private final char[] alphabetChars;
+    private final int[] alphabetIndex; // char (< 128) -> column, or -1
+
+    QuickLauncher_v2_MultiPatternMatcher(java.util.List<String> patterns) {
+        if (patterns.size() > MAX_PATTERNS) {
+            throw new IllegalArgumentException("At most " + MAX_PATTERNS + " patterns are supported");
+        }
+        transitions.add(new HashMap<>());
+        java.util.List<Long> outputs = new ArrayList<>();
+        outputs.add(0L);
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                alphabet.putIfAbsent(c, alphabet.size());
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new HashMap<>());
+                    outputs.add(0L);
+                    transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.set(state, outputs.get(state) | (1L << id));
+        }
+        int states = transitions.size();
+        failure = new int[states];
+        output = new long[states];
+        for (int i = 0; i < states; i++) {
+            output[i] = outputs.get(i);
+        }
+        alphabetChars = new char[alphabet.size()];
+        alphabetIndex = new int[128];
+        Arrays.fill(alphabetIndex, -1);
+        for (Map.Entry<Character, Integer> entry : alphabet.entrySet()) {
+            alphabetChars[entry.getValue()] = entry.getKey();
+            if (entry.getKey() < 128) {
+                alphabetIndex[entry.getKey()] = entry.getValue();
+            }
+        }
+        buildTable(states);
+    }
+
+    // Breadth-first construction of failure links, folded into a complete goto table.
+    private void buildTable(int states) {
+        table = new int[states][alphabetChars.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int column = 0; column < alphabetChars.length; column++) {
+            Integer next = transitions.get(0).get(alphabetChars[column]);
+            table[0][column] = next != null ? next : 0;
+            if (next != null) {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            output[state] |= output[failure[state]];
+            for (int column = 0; column < alphabetChars.length; column++) {
+                Integer next = transitions.get(state).get(alphabetChars[column]);
+                if (next != null) {
+                    failure[next] = table[failure[state]][column];
+                    table[state][column] = next;
+                    queue.add(next);
+                } else {
+                    table[state][column] = table[failure[state]][column];
+                }
+            }
+        }
+        transitions.clear();
+    }
+
+    long match(String text) {
+        long found = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            } else if (c >= 128) {
+                c = Character.toLowerCase(c);
+            }
+            int column = c < 128 ? alphabetIndex[c] : columnOf(c);
+            state = column < 0 ? 0 : table[state][column];
+            found |= output[state];
+        }
+        return found;
+    }
+
+    private int columnOf(char c) {
+        Integer column = alphabet.get(c);
+        return column != null ? column : -1;
+    }
+}
@@ -0,0 +1,98 @@
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asynchronous "does this wiki page exist" check. One shared HttpClient keeps connections alive,
+ * results are cached per URL (separate TTLs for hits and misses), a host that cannot be reached is
+ * remembered so other pages on it fail fast, and concurrent probes of the same URL share one request.
+ */
+class QuickLauncher_v2_PageProbe {
+    private final HttpClient client;
+    private final Duration timeout;
+    private final long positiveTtlMs;
+    private final long negativeTtlMs;
+    private final Map<String, CachedResult> urlCache = new ConcurrentHashMap<>();
+    private final Map<String, Long> unreachableHosts = new ConcurrentHashMap<>(); // Host -> expiry
+    private final Map<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    QuickLauncher_v2_PageProbe(HttpClient client, Duration timeout, long positiveTtlMs, long negativeTtlMs) {
+        this.client = client;
+        this.timeout = timeout;
+        this.positiveTtlMs = positiveTtlMs;
+        this.negativeTtlMs = negativeTtlMs;
+    }
+
+    static HttpClient newClient(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    // Completes with true when the page answers HEAD with 200; never completes exceptionally.
+    CompletableFuture<Boolean> probe(String url) {
+        long now = System.currentTimeMillis();
+        CachedResult cached = urlCache.get(url);
+        if (cached != null && cached.expiresAt > now) {
+            return CompletableFuture.completedFuture(cached.available);
+        }
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(false);
+        }
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase() : "";
+        Long hostExpiry = unreachableHosts.get(host);
+        if (hostExpiry != null && hostExpiry > now) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> future = inFlight.computeIfAbsent(url, key -> send(uri, host));
+        // Outside the mapping function, so a request that completed at once is not removed before it is added;
+        // callers see the result only once the entry is gone
+        return future.whenComplete((available, error) -> inFlight.remove(url, future));
+    }
+
+    private CompletableFuture<Boolean> send(URI uri, String host) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(timeout)
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    long now = System.currentTimeMillis();
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        // Only a host that cannot be connected to at all; a timeout fails just this page
+                        if (cause instanceof ConnectException || cause instanceof UnknownHostException) {
+                            unreachableHosts.put(host, now + negativeTtlMs);
+                        }
+                        urlCache.put(uri.toString(), new CachedResult(false, now + negativeTtlMs));
+                        return false;
+                    }
+                    unreachableHosts.remove(host);
+                    boolean available = response.statusCode() == 200;
+                    urlCache.put(uri.toString(), new CachedResult(available, now + (available ? positiveTtlMs : negativeTtlMs)));
+                    return available;
+                });
+    }
+
+    private static class CachedResult {
+        final boolean available;
+        final long expiresAt;
+
+        CachedResult(boolean available, long expiresAt) {
+            this.available = available;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically refreshed snapshot of running executables, keyed by lowercase file name so that
+ * "is game.exe running?" is a hash lookup instead of a tasklist spawn. The probe is pluggable so the
+ * table can be driven by a fake process list off Windows.
+ */
+class QuickLauncher_v2_ProcessTable {
+    interface Probe {
+        // Executable paths or names of the currently running processes.
+        Collection<String> runningExecutables();
+    }
+
+    static final Probe PROCESS_HANDLE_PROBE = () -> {
+        java.util.List<String> executables = new ArrayList<>();
+        ProcessHandle.allProcesses().forEach(process -> process.info().command().ifPresent(executables::add));
+        return executables;
+    };
+
+    private final Probe probe;
+    private final long refreshIntervalMs;
+    private volatile Set<String> snapshot;
+    private ScheduledExecutorService scheduler;
+
+    QuickLauncher_v2_ProcessTable(Probe probe, long refreshIntervalMs) {
+        this.probe = probe;
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "process-table");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    boolean isRunning(String processName) {
+        Set<String> names = snapshot;
+        if (names == null) {
+            names = refresh(); // First lookup before the scheduler ran
+        }
+        return names.contains(processName.toLowerCase());
+    }
+
+    Set<String> refresh() {
+        Set<String> names = new HashSet<>();
+        try {
+            for (String executable : probe.runningExecutables()) {
+                names.add(fileName(executable).toLowerCase());
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error listing processes: " + e.getMessage());
+            Set<String> previous = snapshot;
+            return previous != null ? previous : Collections.emptySet();
+        }
+        Set<String> published = Collections.unmodifiableSet(names);
+        snapshot = published;
+        return published;
+    }
+
+    // Process paths may use either separator depending on where the probe got them from.
+    private static String fileName(String path) {
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return slash >= 0 ? path.substring(slash + 1) : path;
+    }
+}
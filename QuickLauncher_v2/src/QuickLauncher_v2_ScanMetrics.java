@@ -0,0 +1,269 @@
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Scan telemetry. Counters are LongAdders so scanner threads never contend on them. Time spent
+ * listing directories is attributed to the drive root and to the LAUNCHER_DIRS entry it falls under,
+ * and each scan's totals go into per-root and per-launcher-dir histograms. Start directories dropped
+ * by scan planning and directories reached a second time are counted as the I/O the dedup saved.
+ */
+class QuickLauncher_v2_ScanMetrics implements QuickLauncher_v2_ScanMetricsMBean {
+    static final String OBJECT_NAME = "QuickLauncher_v2:type=ScanMetrics";
+
+    private final LongAdder scans = new LongAdder();
+    private final LongAdder filesVisited = new LongAdder();
+    private final LongAdder directoriesVisited = new LongAdder();
+    private final LongAdder directoriesPruned = new LongAdder();
+    private final LongAdder rootsDeduplicated = new LongAdder();
+    private final LongAdder directoriesDeduplicated = new LongAdder();
+    private final LongAdder listingNanos = new LongAdder(); // Summed over directories, across threads
+    private final LongAdder visitFailures = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder scanNanos = new LongAdder();
+    private final Map<String, Histogram> rootHistograms = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> launcherDirHistograms = new ConcurrentHashMap<>();
+
+    void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                new StandardMBean(this, QuickLauncher_v2_ScanMetricsMBean.class), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Error registering scan metrics MBean: " + e.getMessage());
+        }
+    }
+
+    // Starts timing one traversal; launcherRoots are the existing LAUNCHER_DIRS paths.
+    Scan beginScan(java.util.List<Path> launcherRoots) {
+        return new Scan(launcherRoots);
+    }
+
+    void fileVisited() {
+        filesVisited.increment();
+    }
+
+    void directoryPruned() {
+        directoriesPruned.increment();
+    }
+
+    void rootDeduplicated() {
+        rootsDeduplicated.increment();
+    }
+
+    void directoryDeduplicated() {
+        directoriesDeduplicated.increment();
+    }
+
+    void visitFailed() {
+        visitFailures.increment();
+    }
+
+    void matched() {
+        matches.increment();
+    }
+
+    @Override
+    public long getScans() {
+        return scans.sum();
+    }
+
+    @Override
+    public long getFilesVisited() {
+        return filesVisited.sum();
+    }
+
+    @Override
+    public long getDirectoriesVisited() {
+        return directoriesVisited.sum();
+    }
+
+    @Override
+    public long getDirectoriesPruned() {
+        return directoriesPruned.sum();
+    }
+
+    @Override
+    public long getRootsDeduplicated() {
+        return rootsDeduplicated.sum();
+    }
+
+    @Override
+    public long getDirectoriesDeduplicated() {
+        return directoriesDeduplicated.sum();
+    }
+
+    @Override
+    public long getDeduplicationSavedMillis() {
+        // Each skipped directory would have cost at least an average listing; its subtree is not counted
+        long directories = directoriesVisited.sum();
+        long saved = directories > 0 ? listingNanos.sum() / directories * directoriesDeduplicated.sum() : 0;
+        return TimeUnit.NANOSECONDS.toMillis(saved);
+    }
+
+    @Override
+    public long getVisitFailures() {
+        return visitFailures.sum();
+    }
+
+    @Override
+    public long getMatches() {
+        return matches.sum();
+    }
+
+    @Override
+    public long getScanMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(scanNanos.sum());
+    }
+
+    @Override
+    public long getFilesPerSecond() {
+        long nanos = scanNanos.sum();
+        return nanos > 0 ? filesVisited.sum() * TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    @Override
+    public String[] getRootScanTimes() {
+        return describe(rootHistograms);
+    }
+
+    @Override
+    public String[] getLauncherDirScanTimes() {
+        return describe(launcherDirHistograms);
+    }
+
+    @Override
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("Scan metrics: scans=").append(getScans())
+              .append(" files=").append(getFilesVisited())
+              .append(" dirs=").append(getDirectoriesVisited())
+              .append(" pruned=").append(getDirectoriesPruned())
+              .append(" deduped roots=").append(getRootsDeduplicated())
+              .append(" deduped dirs=").append(getDirectoriesDeduplicated())
+              .append(" (>=").append(getDeduplicationSavedMillis()).append("ms saved)")
+              .append(" failures=").append(getVisitFailures())
+              .append(" matches=").append(getMatches())
+              .append(" time=").append(getScanMillis()).append("ms")
+              .append(" files/s=").append(getFilesPerSecond());
+        for (String line : getRootScanTimes()) {
+            report.append(System.lineSeparator()).append("  root ").append(line);
+        }
+        for (String line : getLauncherDirScanTimes()) {
+            report.append(System.lineSeparator()).append("  launcher dir ").append(line);
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        scans.reset();
+        filesVisited.reset();
+        directoriesVisited.reset();
+        directoriesPruned.reset();
+        rootsDeduplicated.reset();
+        directoriesDeduplicated.reset();
+        listingNanos.reset();
+        visitFailures.reset();
+        matches.reset();
+        scanNanos.reset();
+        rootHistograms.clear();
+        launcherDirHistograms.clear();
+    }
+
+    private static String[] describe(Map<String, Histogram> histograms) {
+        return new TreeMap<>(histograms).entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Directory listing time of one traversal. Directory times are summed across scanner threads, so
+     * they show where the work went rather than wall-clock time; the scan itself is timed end to end.
+     */
+    final class Scan {
+        private final java.util.List<Path> launcherRoots;
+        private final String[] launcherDirs; // LAUNCHER_DIRS entry of each launcher root, without the drive
+        private final Map<String, LongAdder> rootNanos = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> launcherDirNanos = new ConcurrentHashMap<>();
+        private final long startedAt = System.nanoTime();
+
+        private Scan(java.util.List<Path> launcherRoots) {
+            this.launcherRoots = launcherRoots;
+            this.launcherDirs = new String[launcherRoots.size()];
+            for (int i = 0; i < launcherDirs.length; i++) {
+                Path launcherRoot = launcherRoots.get(i);
+                launcherDirs[i] = (launcherRoot.getRoot() != null ? launcherRoot.getRoot().relativize(launcherRoot) : launcherRoot).toString();
+            }
+        }
+
+        void directoryScanned(Path dir, long nanos) {
+            directoriesVisited.increment();
+            listingNanos.add(nanos);
+            Path root = dir.getRoot();
+            rootNanos.computeIfAbsent(root != null ? root.toString() : "", k -> new LongAdder()).add(nanos);
+            for (int i = 0; i < launcherDirs.length; i++) {
+                if (dir.startsWith(launcherRoots.get(i))) {
+                    launcherDirNanos.computeIfAbsent(launcherDirs[i], k -> new LongAdder()).add(nanos);
+                    break;
+                }
+            }
+        }
+
+        void finish() {
+            scans.increment();
+            scanNanos.add(System.nanoTime() - startedAt);
+            rootNanos.forEach((root, nanos) ->
+                rootHistograms.computeIfAbsent(root, k -> new Histogram()).record(nanos.sum()));
+            launcherDirNanos.forEach((launcherDir, nanos) ->
+                launcherDirHistograms.computeIfAbsent(launcherDir, k -> new Histogram()).record(nanos.sum()));
+        }
+    }
+
+    // Power-of-two millisecond buckets; bucket i holds values below 2^i ms.
+    static final class Histogram {
+        private static final int BUCKETS = 32;
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis))].increment();
+            count.increment();
+            maxMillis.accumulate(millis);
+        }
+
+        // Upper bound, in ms, of the bucket holding the given quantile.
+        long percentile(double quantile) {
+            long total = count.sum();
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i].sum();
+                if (seen >= rank && seen > 0) {
+                    return 1L << i;
+                }
+            }
+            return maxMillis.get();
+        }
+
+        @Override
+        public String toString() {
+            return "scans=" + count.sum() + " p50<=" + percentile(0.5) + "ms p90<=" + percentile(0.9) +
+                   "ms p99<=" + percentile(0.99) + "ms max=" + maxMillis.get() + "ms";
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * JMX view of QuickLauncher_v2_ScanMetrics, registered as "QuickLauncher_v2:type=ScanMetrics".
+ * Histogram lines read "name: scans=N p50<=Xms p90<=Xms p99<=Xms max=Xms".
+ */
+public interface QuickLauncher_v2_ScanMetricsMBean {
+    long getScans();
+
+    long getFilesVisited();
+
+    long getDirectoriesVisited();
+
+    long getDirectoriesPruned();
+
+    // Start directories dropped by planning as duplicates of, or nested in, an earlier one.
+    long getRootsDeduplicated();
+
+    // Directories not listed again because they were reached under another path (a nested start
+    // directory, a bind mount or a junction); each one also saves its whole subtree.
+    long getDirectoriesDeduplicated();
+
+    // Lower bound on the listing time saved: deduplicated directories times the average listing time.
+    long getDeduplicationSavedMillis();
+
+    long getVisitFailures();
+
+    long getMatches();
+
+    long getScanMillis();
+
+    long getFilesPerSecond();
+
+    String[] getRootScanTimes();
+
+    String[] getLauncherDirScanTimes();
+
+    String report();
+
+    void reset();
+}
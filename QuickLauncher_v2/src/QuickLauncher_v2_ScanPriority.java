@@ -0,0 +1,94 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * How promising a pending directory is for a search, for the scanner's best-first order: higher is
+ * expanded sooner. A directory scores for a name resembling a query (containing it counts most),
+ * for lying inside a launcher directory or on the way to one, for lying on the way to an executable
+ * launched or found before, and loses a little per level of depth. Only the order changes; every
+ * directory is still walked unless the scan is stopped.
+ */
+class QuickLauncher_v2_ScanPriority implements ToDoubleFunction<Path> {
+    private static final double NAME_WEIGHT = 4;
+    private static final double LAUNCHER_DIR_BONUS = 2;
+    private static final double PAST_HIT_BONUS = 3;
+    private static final double DEPTH_PENALTY = 0.25;
+
+    private final java.util.List<String> queryKeys = new ArrayList<>(); // Normalized, for containment
+    private final java.util.List<String> queries;
+    private final java.util.List<Path> launcherRoots;
+    private final Set<Path> launcherAncestors = new HashSet<>();
+    private final Set<Path> pastHitDirs = new HashSet<>(); // Directories holding past hits, and their ancestors
+
+    QuickLauncher_v2_ScanPriority(java.util.List<String> queries, java.util.List<Path> launcherRoots, Collection<String> pastHits) {
+        this.queries = queries;
+        this.launcherRoots = launcherRoots;
+        for (String query : queries) {
+            String key = QuickLauncher_v2_TrigramIndex.normalize(query);
+            if (!key.isEmpty()) {
+                queryKeys.add(key);
+            }
+        }
+        for (Path root : launcherRoots) {
+            addAncestors(launcherAncestors, root.toAbsolutePath().normalize());
+        }
+        for (String hit : pastHits) {
+            try {
+                Path parent = Paths.get(hit).toAbsolutePath().normalize().getParent();
+                if (parent != null) {
+                    addAncestors(pastHitDirs, parent);
+                }
+            } catch (java.nio.file.InvalidPathException e) {
+                // Not a file path (e.g. a URL keyword)
+            }
+        }
+    }
+
+    @Override
+    public double applyAsDouble(Path dir) {
+        double score = NAME_WEIGHT * nameScore(dir) - DEPTH_PENALTY * dir.getNameCount();
+        if (launcherAncestors.contains(dir) || isInsideLauncherDir(dir)) {
+            score += LAUNCHER_DIR_BONUS;
+        }
+        if (pastHitDirs.contains(dir)) {
+            score += PAST_HIT_BONUS;
+        }
+        return score;
+    }
+
+    private double nameScore(Path dir) {
+        Path fileName = dir.getFileName();
+        if (fileName == null || queries.isEmpty()) {
+            return 0;
+        }
+        String name = fileName.toString();
+        String key = QuickLauncher_v2_TrigramIndex.normalize(name);
+        for (String queryKey : queryKeys) {
+            if (key.contains(queryKey)) {
+                return 1;
+            }
+        }
+        double best = 0;
+        for (String query : queries) {
+            best = Math.max(best, QuickLauncher_v2_TrigramIndex.similarity(name, query));
+        }
+        return best;
+    }
+
+    private boolean isInsideLauncherDir(Path dir) {
+        for (Path root : launcherRoots) {
+            if (dir.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addAncestors(Set<Path> ancestors, Path dir) {
+        for (Path current = dir; current != null && ancestors.add(current); current = current.getParent()) {
+            // Stops at the first ancestor already added, since its own ancestors are too
+        }
+    }
+}
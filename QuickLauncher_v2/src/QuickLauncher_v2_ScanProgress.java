@@ -0,0 +1,135 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import javax.swing.JProgressBar;
+import javax.swing.Timer;
+
+/**
+ * The one channel search progress reaches the window through. Scan and search threads only count
+ * files and overwrite the latest path and status message, without queueing anything for the EDT; a
+ * Swing timer renders whatever is latest once per interval, so the window does the same work per
+ * tick however fast the scan runs. The progress bar's total is the file count of the last complete
+ * scan, kept in a small file so even the first search of a session has one.
+ */
+final class QuickLauncher_v2_ScanProgress {
+    private static final int BAR_MAX = 1000;
+    private static final int BAR_NEARLY_DONE = 990; // A scan larger than the last one waits here
+
+    private final Path file;
+    private final Path tempFile;
+    private final LongAdder files = new LongAdder();
+    private final AtomicReference<Path> current = new AtomicReference<>();
+    private final AtomicReference<String> message = new AtomicReference<>();
+    private volatile boolean scanning = false;
+    private volatile long expectedFiles = 0; // Files in this scan if known, else 0
+    private volatile long lastScanFiles = 0; // Files in the last complete scan, 0 until there was one
+
+    private Path renderedPath; // Only touched on the EDT
+
+    // file is null for progress that is never shown, whose scan sizes are not remembered either.
+    QuickLauncher_v2_ScanProgress(Path file) {
+        this.file = file;
+        this.tempFile = file != null ? file.resolveSibling(file.getFileName() + ".tmp") : null;
+    }
+
+    // Reads the last complete scan's size; a missing or unreadable file leaves the bar without a total.
+    void load() {
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+        try {
+            lastScanFiles = Math.max(0, Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim()));
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Error reading scan size " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Renders the latest state every intervalMs: a pending message first, otherwise the file being
+     * scanned, and the bar while a scan runs. Call on the EDT.
+     */
+    void start(long intervalMs, JProgressBar bar, Consumer<String> status) {
+        bar.setMaximum(BAR_MAX);
+        bar.setStringPainted(true);
+        bar.setVisible(false);
+        Timer timer = new Timer((int) Math.max(1, intervalMs), e -> render(bar, status));
+        timer.setCoalesce(true);
+        timer.start();
+    }
+
+    // Shows text at the next tick, replacing any message not shown yet.
+    void status(String text) {
+        message.set(text);
+    }
+
+    // Drops a message not shown yet, so it cannot overwrite a status the EDT just set. Call on the EDT.
+    void discardStatus() {
+        message.set(null);
+    }
+
+    // full scans walk every drive and are measured against the last complete one; resumed scans are not.
+    void begin(boolean full) {
+        files.reset();
+        current.set(null);
+        expectedFiles = full ? lastScanFiles : 0;
+        scanning = true;
+    }
+
+    void fileVisited(Path path) {
+        files.increment();
+        current.lazySet(path); // Read at the next tick at the earliest; no need to order it with anything
+    }
+
+    // A full scan that ran to the end becomes the total for the next one.
+    void finish(boolean full, boolean complete) {
+        scanning = false;
+        long scanned = files.sum();
+        if (file == null || !full || !complete || scanned == 0 || scanned == lastScanFiles) {
+            return;
+        }
+        lastScanFiles = scanned;
+        try {
+            Files.write(tempFile, Long.toString(scanned).getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing scan size " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void render(JProgressBar bar, Consumer<String> status) {
+        String text = message.getAndSet(null);
+        boolean active = scanning;
+        if (text != null) {
+            status.accept(text);
+        } else if (active) {
+            Path path = current.get();
+            if (path != null && path != renderedPath) {
+                status.accept("Scanning: " + path);
+            }
+            renderedPath = path;
+        }
+        if (!active) {
+            renderedPath = null;
+            if (bar.isVisible()) {
+                bar.setVisible(false);
+            }
+            return;
+        }
+        long scanned = files.sum();
+        long expected = expectedFiles;
+        if (expected > 0) {
+            bar.setIndeterminate(false);
+            bar.setValue((int) Math.min(BAR_NEARLY_DONE, scanned * BAR_MAX / expected));
+            bar.setString(String.format("%,d of about %,d files", scanned, expected));
+        } else {
+            bar.setIndeterminate(true);
+            bar.setString(String.format("%,d files", scanned));
+        }
+        if (!bar.isVisible()) {
+            bar.setVisible(true);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scan rules compiled once from quicklauncher_v2.properties: which directories are skipped, which
+ * files count as launchable, and launcher-specific rules (Xbox launch helpers, Discord shortcuts).
+ * Patterns are "glob:" (* and ?, matching across separators) or "regex:" (find anywhere), both
+ * case-insensitive. Matching works on the raw names and paths and allocates nothing, so it can run
+ * on every file the scanner visits.
+ */
+class QuickLauncher_v2_ScanRules {
+    interface TextMatcher {
+        boolean matches(String text);
+    }
+
+    private final TextMatcher[] excludedDirs;
+    private final String[] extensions;
+    private final TextMatcher[] includedFiles;
+    private final TextMatcher[] excludedFiles;
+    private final LauncherRule[] launcherRules;
+
+    private QuickLauncher_v2_ScanRules(TextMatcher[] excludedDirs, String[] extensions, TextMatcher[] includedFiles,
+                                       TextMatcher[] excludedFiles, LauncherRule[] launcherRules) {
+        this.excludedDirs = excludedDirs;
+        this.extensions = extensions;
+        this.includedFiles = includedFiles;
+        this.excludedFiles = excludedFiles;
+        this.launcherRules = launcherRules;
+    }
+
+    static QuickLauncher_v2_ScanRules compile(Properties props, Collection<String> excludedDirNames,
+                                              Collection<String> executableExtensions) {
+        java.util.List<TextMatcher> excludedDirs = new ArrayList<>();
+        for (String name : excludedDirNames) {
+            if (!name.trim().isEmpty()) {
+                excludedDirs.add(new GlobMatcher(name.trim())); // Plain names have no wildcards: an exact match
+            }
+        }
+        excludedDirs.addAll(patterns(props.getProperty("scan.exclude.dirs", "glob:*recycle*")));
+        String[] extensions = executableExtensions.stream()
+                .map(String::trim)
+                .filter(extension -> !extension.isEmpty())
+                .toArray(String[]::new);
+
+        java.util.List<LauncherRule> launcherRules = new ArrayList<>();
+        for (String name : props.getProperty("scan.rules", "discord,xbox").split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String prefix = "scan.rule." + name + ".";
+            String parentPath = props.getProperty(prefix + "parent.path", defaultRule(name, "parent.path"));
+            String keyword = props.getProperty(prefix + "keyword", defaultRule(name, "keyword"));
+            String files = props.getProperty(prefix + "files", defaultRule(name, "files"));
+            String match = props.getProperty(prefix + "match", defaultRule(name, "match"));
+            String launch = props.getProperty(prefix + "launch", defaultRule(name, "launch"));
+            launcherRules.add(new LauncherRule(
+                    isBlank(parentPath) ? null : compilePattern(parentPath.trim()),
+                    isBlank(keyword) ? null : keyword.trim().toLowerCase(),
+                    isBlank(files) ? null : compilePattern(files.trim()),
+                    "parent".equalsIgnoreCase(match != null ? match.trim() : ""),
+                    isBlank(launch) ? null : launch.trim()));
+        }
+        return new QuickLauncher_v2_ScanRules(
+                excludedDirs.toArray(new TextMatcher[0]),
+                extensions,
+                patterns(props.getProperty("scan.include.files", "")).toArray(new TextMatcher[0]),
+                patterns(props.getProperty("scan.exclude.files", "")).toArray(new TextMatcher[0]),
+                launcherRules.toArray(new LauncherRule[0]));
+    }
+
+    // The built-in Discord and Xbox rules, so a properties file without scan.rule.* keeps the old behaviour.
+    private static String defaultRule(String name, String key) {
+        if (name.equals("discord")) {
+            return key.equals("keyword") ? "discord" : key.equals("files") ? "glob:*.lnk" : null;
+        }
+        if (name.equals("xbox")) {
+            return key.equals("parent.path") ? "glob:*xboxgames*" : key.equals("match") ? "parent"
+                 : key.equals("launch") ? "Content/gamelaunchhelper.exe" : null;
+        }
+        return null;
+    }
+
+    static TextMatcher compilePattern(String spec) {
+        if (spec.startsWith("regex:")) {
+            return new RegexMatcher(Pattern.compile(spec.substring("regex:".length()), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+        }
+        return new GlobMatcher(spec.startsWith("glob:") ? spec.substring("glob:".length()) : spec);
+    }
+
+    private static java.util.List<TextMatcher> patterns(String specs) {
+        java.util.List<TextMatcher> matchers = new ArrayList<>();
+        for (String spec : specs.split(",")) {
+            if (!spec.trim().isEmpty()) {
+                matchers.add(compilePattern(spec.trim()));
+            }
+        }
+        return matchers;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    boolean isExcludedDirectory(String dirName) {
+        for (TextMatcher matcher : excludedDirs) {
+            if (matcher.matches(dirName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Launchable: has one of executable.extensions or matches scan.include.files, and is not in scan.exclude.files.
+    boolean isExecutable(String fileName) {
+        boolean included = false;
+        for (String extension : extensions) {
+            if (endsWithIgnoreCase(fileName, extension)) {
+                included = true;
+                break;
+            }
+        }
+        for (int i = 0; !included && i < includedFiles.length; i++) {
+            included = includedFiles[i].matches(fileName);
+        }
+        if (!included) {
+            return false;
+        }
+        for (TextMatcher matcher : excludedFiles) {
+            if (matcher.matches(fileName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the path to launch for fileName in parentPath, or null if it does not match the
+     * (lowercase) query. Every applicable launcher rule's file filter must accept the file; the first
+     * applicable rule with a match mode or launch target decides how the match is made.
+     */
+    String match(String parentPath, String parentName, String fileName, String originalName, String normalizedName) {
+        LauncherRule mode = null;
+        for (LauncherRule rule : launcherRules) {
+            if (!rule.appliesTo(parentPath, parentName, originalName, normalizedName)) {
+                continue;
+            }
+            if (rule.files != null && !rule.files.matches(fileName)) {
+                return null;
+            }
+            if (mode == null && (rule.matchParent || rule.launch != null)) {
+                mode = rule;
+            }
+        }
+        boolean parentMatches = containsIgnoreCase(parentName, originalName) || containsIgnoreCase(parentName, normalizedName);
+        if (mode != null && mode.matchParent) {
+            return parentMatches && !parentPath.isEmpty() ? mode.target(parentPath, fileName) : null;
+        }
+        if (!isExecutable(fileName)) {
+            return null;
+        }
+        if (parentMatches || containsIgnoreCase(fileName, originalName) || containsIgnoreCase(fileName, normalizedName)) {
+            return mode != null ? mode.target(parentPath, fileName) : Paths.get(parentPath, fileName).toAbsolutePath().toString();
+        }
+        return null;
+    }
+
+    // Whether text contains part, which must already be lowercase; text is folded as it is read.
+    static boolean containsIgnoreCase(String text, String part) {
+        int length = part.length();
+        if (length == 0) {
+            return true;
+        }
+        char first = part.charAt(0);
+        int last = text.length() - length;
+        for (int i = 0; i <= last; i++) {
+            if (toLower(text.charAt(i)) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < length && toLower(text.charAt(i + j)) == part.charAt(j)) {
+                j++;
+            }
+            if (j == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static char toLower(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static boolean endsWithIgnoreCase(String text, String suffix) {
+        return text.regionMatches(true, text.length() - suffix.length(), suffix, 0, suffix.length());
+    }
+
+    private static boolean sameIgnoreCase(char a, char b) {
+        if (a == b) {
+            return true;
+        }
+        char upperA = Character.toUpperCase(a);
+        char upperB = Character.toUpperCase(b);
+        return upperA == upperB || Character.toLowerCase(upperA) == Character.toLowerCase(upperB);
+    }
+
+    private static final class LauncherRule {
+        final TextMatcher parentPath;
+        final String keyword;
+        final TextMatcher files;
+        final boolean matchParent;
+        final String launch;
+
+        LauncherRule(TextMatcher parentPath, String keyword, TextMatcher files, boolean matchParent, String launch) {
+            this.parentPath = parentPath;
+            this.keyword = keyword;
+            this.files = files;
+            this.matchParent = matchParent;
+            this.launch = launch;
+        }
+
+        boolean appliesTo(String parentPathText, String parentName, String originalName, String normalizedName) {
+            if (parentPath != null && !parentPath.matches(parentPathText)) {
+                return false;
+            }
+            return keyword == null || originalName.contains(keyword) || normalizedName.contains(keyword) ||
+                   containsIgnoreCase(parentName, keyword);
+        }
+
+        // The launch target next to the matched file when it exists, otherwise the file itself.
+        String target(String parentPathText, String fileName) {
+            if (launch != null) {
+                Path helper = Paths.get(parentPathText, launch);
+                if (Files.exists(helper)) {
+                    return helper.toAbsolutePath().toString();
+                }
+            }
+            return Paths.get(parentPathText, fileName).toAbsolutePath().toString();
+        }
+    }
+
+    // Whole-text wildcard match; common shapes (name, *suffix, prefix*, *part*) skip the general loop.
+    static final class GlobMatcher implements TextMatcher {
+        private final String glob;
+        private final String literal;
+        private final boolean leadingStar;
+        private final boolean trailingStar;
+
+        GlobMatcher(String glob) {
+            this.glob = glob;
+            String inner = glob;
+            leadingStar = inner.startsWith("*");
+            if (leadingStar) {
+                inner = inner.substring(1);
+            }
+            trailingStar = inner.endsWith("*") && !inner.isEmpty();
+            if (trailingStar) {
+                inner = inner.substring(0, inner.length() - 1);
+            }
+            literal = inner.indexOf('*') < 0 && inner.indexOf('?') < 0 ? inner.toLowerCase() : null;
+        }
+
+        @Override
+        public boolean matches(String text) {
+            if (literal != null) {
+                if (leadingStar && trailingStar) {
+                    return containsIgnoreCase(text, literal);
+                } else if (leadingStar) {
+                    return endsWithIgnoreCase(text, literal);
+                } else if (trailingStar) {
+                    return text.regionMatches(true, 0, literal, 0, literal.length());
+                }
+                return text.equalsIgnoreCase(literal);
+            }
+            // Greedy match that backtracks to the last '*'
+            int t = 0, g = 0, star = -1, starText = 0;
+            while (t < text.length()) {
+                if (g < glob.length() && (glob.charAt(g) == '?' || (glob.charAt(g) != '*' && sameIgnoreCase(glob.charAt(g), text.charAt(t))))) {
+                    g++;
+                    t++;
+                } else if (g < glob.length() && glob.charAt(g) == '*') {
+                    star = g++;
+                    starText = t;
+                } else if (star >= 0) {
+                    g = star + 1;
+                    t = ++starText;
+                } else {
+                    return false;
+                }
+            }
+            while (g < glob.length() && glob.charAt(g) == '*') {
+                g++;
+            }
+            return g == glob.length();
+        }
+    }
+
+    // java.util.regex allocates a Matcher per call, so each scanner thread keeps one and resets it.
+    static final class RegexMatcher implements TextMatcher {
+        private final ThreadLocal<Matcher> matchers;
+
+        RegexMatcher(Pattern pattern) {
+            this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        }
+
+        @Override
+        public boolean matches(String text) {
+            return matchers.get().reset(text).find();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One search's stop conditions: its own cancellation and an optional time budget, so a new search,
+ * a launch or the cancel button only ever stop the search they mean to. A scan stopped by the budget
+ * (not cancelled) suspends here with its partial results and the directories it had not walked yet;
+ * searching the same name again picks up from those directories instead of the drive roots.
+ */
+final class QuickLauncher_v2_SearchHandle {
+    private final String name;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled = false;
+    private volatile java.util.List<Path> remaining = Collections.emptyList();
+    private volatile Set<String> partialResults = Collections.emptySet();
+
+    // budgetMillis <= 0 means no deadline.
+    QuickLauncher_v2_SearchHandle(String name, long budgetMillis) {
+        this.name = name;
+        this.hasDeadline = budgetMillis > 0;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, budgetMillis));
+    }
+
+    String name() {
+        return name;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    boolean isExpired() {
+        return hasDeadline && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    // Polled by the scan for every file, so it stays a couple of volatile reads and a clock read.
+    boolean shouldStop() {
+        return cancelled || isExpired();
+    }
+
+    // Records where a scan stopped by the deadline left off.
+    void suspend(java.util.List<Path> remaining, Set<String> partialResults) {
+        this.partialResults = Collections.unmodifiableSet(new LinkedHashSet<>(partialResults));
+        this.remaining = Collections.unmodifiableList(new ArrayList<>(remaining));
+    }
+
+    // True when the scan ran out of time with directories left to walk.
+    boolean isResumable() {
+        return !cancelled && !remaining.isEmpty();
+    }
+
+    java.util.List<Path> remaining() {
+        return remaining;
+    }
+
+    Set<String> partialResults() {
+        return partialResults;
+    }
+}
@@ -0,0 +1,31 @@
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Startup milestones in milliseconds since the JVM process started: launcher classes initialized,
+ * main entered, keywords loaded, first frame painted and interactive (painted with keywords loaded).
+ * The process start comes from the OS, so JVM boot time is included.
+ */
+final class QuickLauncher_v2_StartupTrace {
+    private static final long PROCESS_START_MS = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+    private static final Map<String, Long> milestones = new LinkedHashMap<>();
+
+    private QuickLauncher_v2_StartupTrace() {
+    }
+
+    // Records a milestone the first time it is reached.
+    static synchronized void mark(String milestone) {
+        milestones.putIfAbsent(milestone, System.currentTimeMillis() - PROCESS_START_MS);
+    }
+
+    static synchronized String summary() {
+        StringBuilder summary = new StringBuilder("Startup (ms since process start):");
+        for (Map.Entry<String, Long> milestone : milestones.entrySet()) {
+            summary.append(' ').append(milestone.getKey()).append('=').append(milestone.getValue());
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,324 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Ranked fuzzy lookup over discovered executables. Names are reduced to lowercase [a-z0-9] keys, so
+ * every trigram fits a 36^3 posting table. Candidates sharing trigrams with the query are scored by
+ * Dice similarity; short queries are also tried as acronyms/subsequences ("lfd2" -> "Left 4 Dead 2").
+ */
+class QuickLauncher_v2_TrigramIndex {
+    private static final int ALPHABET = 36;
+    private static final double MIN_SCORE = 0.35;
+
+    private final java.util.List<Doc> docs = new ArrayList<>();
+    private final Map<String, Integer> idsByPath = new HashMap<>();
+    private final int[][] postings = new int[ALPHABET * ALPHABET * ALPHABET][];
+    private final int[] postingSizes = new int[ALPHABET * ALPHABET * ALPHABET];
+    private final int[][] byFirstSymbol = new int[ALPHABET][]; // Acronym candidates by leading name/parent symbol
+    private final int[] firstSymbolSizes = new int[ALPHABET];
+    // Scratch for search, reused between queries; only the entries of touched docs are set, and reset after
+    private int[] shared = new int[0];
+    private boolean[] acronymCandidate = new boolean[0];
+    private int[] touched = new int[0];
+
+    synchronized void add(String path) {
+        addDoc(path);
+    }
+
+    // Adds many paths under one lock, e.g. everything a scan found, instead of locking per path.
+    synchronized void addAll(Collection<String> paths) {
+        for (String path : paths) {
+            addDoc(path);
+        }
+    }
+
+    private void addDoc(String path) {
+        if (idsByPath.containsKey(path)) {
+            return;
+        }
+        Doc doc = new Doc(path);
+        int id = docs.size();
+        docs.add(doc);
+        idsByPath.put(path, id);
+        int[] trigrams = trigrams(doc.nameKey + ' ' + doc.parentKey);
+        doc.trigramCount = trigrams.length;
+        for (int trigram : trigrams) {
+            append(postings, postingSizes, trigram, id);
+        }
+        int nameSymbol = doc.nameKey.isEmpty() ? -1 : symbol(doc.nameKey.charAt(0));
+        int parentSymbol = doc.parentKey.isEmpty() ? -1 : symbol(doc.parentKey.charAt(0));
+        if (nameSymbol >= 0) {
+            append(byFirstSymbol, firstSymbolSizes, nameSymbol, id);
+        }
+        if (parentSymbol >= 0 && parentSymbol != nameSymbol) {
+            append(byFirstSymbol, firstSymbolSizes, parentSymbol, id);
+        }
+    }
+
+    private static void append(int[][] lists, int[] sizes, int slot, int id) {
+        int[] list = lists[slot];
+        if (list == null) {
+            list = lists[slot] = new int[4];
+        } else if (sizes[slot] == list.length) {
+            list = lists[slot] = Arrays.copyOf(list, list.length * 2);
+        }
+        list[sizes[slot]++] = id;
+    }
+
+    synchronized int size() {
+        return docs.size();
+    }
+
+    // Returns up to limit paths ordered from best to worst match.
+    synchronized java.util.List<String> search(String query, int limit) {
+        String key = normalize(query);
+        if (key.isEmpty() || docs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (shared.length < docs.size()) {
+            shared = new int[docs.size() * 2];
+            acronymCandidate = new boolean[shared.length];
+        }
+        int[] queryTrigrams = trigrams(key);
+        int touchedCount = 0;
+        for (int trigram : queryTrigrams) {
+            int[] list = postings[trigram];
+            for (int i = 0; i < postingSizes[trigram]; i++) {
+                int id = list[i];
+                if (shared[id]++ == 0) {
+                    touchedCount = touch(touchedCount, id);
+                }
+            }
+        }
+        int firstSymbol = symbol(key.charAt(0));
+        if (key.length() <= 10 && firstSymbol >= 0) {
+            int[] list = byFirstSymbol[firstSymbol];
+            for (int i = 0; i < firstSymbolSizes[firstSymbol]; i++) {
+                int id = list[i];
+                if (shared[id] == 0 && !acronymCandidate[id]) {
+                    touchedCount = touch(touchedCount, id);
+                }
+                acronymCandidate[id] = true;
+            }
+        }
+        Arrays.sort(touched, 0, touchedCount); // Equal scores keep going to the earlier doc
+        PriorityQueue<Scored> best = new PriorityQueue<>(Comparator.comparingDouble(scored -> scored.score));
+        for (int t = 0; t < touchedCount; t++) {
+            int id = touched[t];
+            Doc doc = docs.get(id);
+            double similarity = shared[id] == 0 ? 0 : 2.0 * shared[id] / (queryTrigrams.length + doc.trigramCount);
+            double score = doc.score(key, similarity);
+            if (score >= MIN_SCORE && (best.size() < limit || score > best.peek().score)) {
+                best.add(new Scored(doc.path, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            shared[id] = 0;
+            acronymCandidate[id] = false;
+        }
+        java.util.List<String> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll().path);
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    private int touch(int count, int id) {
+        if (count == touched.length) {
+            touched = Arrays.copyOf(touched, Math.max(16, count * 2));
+        }
+        touched[count] = id;
+        return count + 1;
+    }
+
+    // Orders arbitrary result paths by how well they match the query; stable for equal scores.
+    static java.util.List<String> rank(Collection<String> paths, String query) {
+        String key = normalize(query);
+        int[] queryTrigrams = trigrams(key);
+        java.util.List<Scored> scored = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            Doc doc = new Doc(path);
+            int[] docTrigrams = trigrams(doc.nameKey + ' ' + doc.parentKey);
+            int shared = 0;
+            for (int trigram : queryTrigrams) {
+                if (contains(docTrigrams, trigram)) {
+                    shared++;
+                }
+            }
+            double similarity = queryTrigrams.length + docTrigrams.length == 0 ? 0
+                    : 2.0 * shared / (queryTrigrams.length + docTrigrams.length);
+            scored.add(new Scored(path, doc.score(key, similarity)));
+        }
+        scored.sort((a, b) -> Double.compare(b.score, a.score));
+        java.util.List<String> ranked = new ArrayList<>(scored.size());
+        for (Scored entry : scored) {
+            ranked.add(entry.path);
+        }
+        return ranked;
+    }
+
+    // Dice similarity of the trigrams of two names, after normalize; 0 when either is shorter than a trigram.
+    static double similarity(String a, String b) {
+        int[] trigramsA = trigrams(normalize(a));
+        int[] trigramsB = trigrams(normalize(b));
+        if (trigramsA.length == 0 || trigramsB.length == 0) {
+            return 0;
+        }
+        int shared = 0;
+        for (int trigram : trigramsA) {
+            if (contains(trigramsB, trigram)) {
+                shared++;
+            }
+        }
+        return 2.0 * shared / (trigramsA.length + trigramsB.length);
+    }
+
+    static String normalize(String text) {
+        StringBuilder key = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    // Distinct trigram codes of the given key; a space separates keys so no trigram spans them.
+    private static int[] trigrams(String key) {
+        int[] codes = new int[Math.max(0, key.length() - 2)];
+        int count = 0;
+        for (int i = 0; i + 2 < key.length(); i++) {
+            int a = symbol(key.charAt(i));
+            int b = symbol(key.charAt(i + 1));
+            int c = symbol(key.charAt(i + 2));
+            if (a < 0 || b < 0 || c < 0) {
+                continue;
+            }
+            int code = (a * ALPHABET + b) * ALPHABET + c;
+            if (!contains(codes, count, code)) {
+                codes[count++] = code;
+            }
+        }
+        return Arrays.copyOf(codes, count);
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= '0' && c <= '9') return 26 + (c - '0');
+        return -1;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        return contains(values, values.length, value);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private static class Doc {
+        final String path;
+        final String nameKey;
+        final String parentKey;
+        final long nameWordStarts;
+        final long parentWordStarts;
+        final int depth;
+        int trigramCount;
+
+        Doc(String path) {
+            this.path = path;
+            Path file = Paths.get(path);
+            String fileName = file.getFileName() != null ? file.getFileName().toString() : path;
+            int dot = fileName.lastIndexOf('.');
+            String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+            Path parent = file.getParent();
+            // Xbox titles launch through Content/gamelaunchhelper.exe; the game name is two levels up.
+            if (baseName.equalsIgnoreCase("gamelaunchhelper") && parent != null && parent.getParent() != null) {
+                parent = parent.getParent();
+            }
+            String parentName = parent != null && parent.getFileName() != null ? parent.getFileName().toString() : "";
+            this.nameKey = normalize(baseName);
+            this.parentKey = normalize(parentName);
+            this.nameWordStarts = wordStarts(baseName);
+            this.parentWordStarts = wordStarts(parentName);
+            this.depth = file.getNameCount();
+        }
+
+        double score(String query, double similarity) {
+            double score = Math.max(similarity, Math.max(
+                    keyScore(query, nameKey, nameWordStarts),
+                    keyScore(query, parentKey, parentWordStarts) - 0.05));
+            return score - 0.005 * depth;
+        }
+
+        private static double keyScore(String query, String key, long wordStarts) {
+            if (key.isEmpty()) {
+                return 0;
+            }
+            if (key.equals(query)) {
+                return 1.0;
+            }
+            int index = key.indexOf(query);
+            if (index >= 0) {
+                return 0.85 + 0.1 * query.length() / key.length() + (index == 0 ? 0.03 : 0);
+            }
+            if (query.length() > 10 || query.charAt(0) != key.charAt(0)) {
+                return 0;
+            }
+            // Subsequence match, rewarding characters that land on word starts (acronyms).
+            int matched = 0;
+            int onWordStart = 0;
+            for (int i = 0; i < key.length() && matched < query.length(); i++) {
+                if (key.charAt(i) == query.charAt(matched)) {
+                    if (i < 64 && (wordStarts & (1L << i)) != 0) {
+                        onWordStart++;
+                    }
+                    matched++;
+                }
+            }
+            if (matched < query.length() || onWordStart * 2 < query.length()) {
+                return 0;
+            }
+            return 0.4 + 0.45 * onWordStart / query.length();
+        }
+
+        // Bit i is set when normalized key position i begins a word ("Left 4 Dead 2" -> l, 4, d, 2).
+        private static long wordStarts(String text) {
+            long starts = 0;
+            int position = 0;
+            int previous = 0; // 0 = separator, 1 = lower, 2 = upper, 3 = digit
+            for (int i = 0; i < text.length() && position < 64; i++) {
+                char c = text.charAt(i);
+                int kind = (c >= 'a' && c <= 'z') ? 1 : (c >= 'A' && c <= 'Z') ? 2 : (c >= '0' && c <= '9') ? 3 : 0;
+                if (kind == 0) {
+                    previous = 0;
+                    continue;
+                }
+                boolean start = previous == 0 || (kind == 3) != (previous == 3) || (kind == 2 && previous == 1);
+                if (start) {
+                    starts |= 1L << position;
+                }
+                position++;
+                previous = kind;
+            }
+            return starts;
+        }
+    }
+
+    private static class Scored {
+        final String path;
+        final double score;
+
+        Scored(String path, double score) {
+            this.path = path;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The index over a small install tree, and what a crash can leave behind: a temp file cut short
+ * mid-write, or a live file damaged on disk. Neither may be loaded; searches then have no index.
+ */
+class QuickLauncher_v2_ExecutableIndexTest {
+    private static final long MAX_AGE_MS = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    Path dir;
+
+    private Path games;
+    private Path indexFile;
+    private Path tempFile;
+
+    @BeforeEach
+    void createTree() throws IOException {
+        games = Files.createDirectories(dir.resolve("games"));
+        Files.createDirectories(games.resolve("Portal"));
+        Files.write(games.resolve("Portal").resolve("portal.exe"), new byte[1]);
+        Files.createDirectories(games.resolve("Half-Life"));
+        Files.write(games.resolve("Half-Life").resolve("hl.exe"), new byte[1]);
+        indexFile = dir.resolve("executables.idx");
+        tempFile = dir.resolve("executables.idx.tmp");
+    }
+
+    private QuickLauncher_v2_ExecutableIndex built() {
+        QuickLauncher_v2_ExecutableIndex index = new QuickLauncher_v2_ExecutableIndex(indexFile, MAX_AGE_MS);
+        index.refresh(Collections.singletonList(games));
+        return index;
+    }
+
+    @Test
+    void builtIndexSurvivesRestart() {
+        assertEquals(1, built().find("portal", "portal").size());
+
+        QuickLauncher_v2_ExecutableIndex reloaded = new QuickLauncher_v2_ExecutableIndex(indexFile, MAX_AGE_MS);
+        assertTrue(reloaded.load());
+        assertEquals(Collections.singletonList(games.resolve("Half-Life").resolve("hl.exe").toString()),
+            reloaded.find("half-life", "half-life"));
+    }
+
+    @Test
+    void truncatedTempFileIsNotPromoted() throws IOException {
+        built();
+        byte[] complete = Files.readAllBytes(indexFile);
+        Files.write(tempFile, java.util.Arrays.copyOf(complete, complete.length - 5));
+
+        QuickLauncher_v2_ExecutableIndex reloaded = new QuickLauncher_v2_ExecutableIndex(indexFile, MAX_AGE_MS);
+        assertTrue(reloaded.load());
+        assertFalse(Files.exists(tempFile));
+        assertArrayEquals(complete, Files.readAllBytes(indexFile));
+        assertEquals(1, reloaded.find("portal", "portal").size());
+    }
+
+    @Test
+    void damagedIndexIsNotLoaded() throws IOException {
+        built();
+        byte[] damaged = Files.readAllBytes(indexFile);
+        damaged[damaged.length - 1] ^= 1;
+        Files.write(indexFile, damaged);
+
+        QuickLauncher_v2_ExecutableIndex reloaded = new QuickLauncher_v2_ExecutableIndex(indexFile, MAX_AGE_MS);
+        assertFalse(reloaded.load());
+        assertNull(reloaded.find("portal", "portal"), "without an index searches walk");
+    }
+}
@@ -0,0 +1,83 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A restart with changes still in the journal, loaded the way the launcher loads keywords.txt: parse,
+ * replay, publish to the registry, then compact. keywords.txt must end up with the journaled changes
+ * folded in, never with whatever the registry held before the replayed keywords were published.
+ */
+class QuickLauncher_v2_KeywordJournalTest {
+    private static final String KEYWORDS = "steam=C:\\Steam\\steam.exe\nportal=C:\\Games\\Portal\\portal.exe\n";
+    private static final String JOURNAL = "+half life,hl=C:\\Games\\Half-Life\\hl.exe\n-portal\n";
+
+    @TempDir
+    Path dir;
+
+    private Path keywordsFile;
+    private Path journalFile;
+
+    private QuickLauncher_v2_KeywordRegistry registry() {
+        return new QuickLauncher_v2_KeywordRegistry(alias -> { }, alias -> { });
+    }
+
+    private QuickLauncher_v2_KeywordStore.Builder parseKeywordsFile() throws IOException {
+        QuickLauncher_v2_KeywordStore.Builder keywords = new QuickLauncher_v2_KeywordStore.Builder();
+        try (BufferedReader reader = Files.newBufferedReader(keywordsFile)) {
+            QuickLauncher_v2_KeywordStore.parse(reader, keywords);
+        }
+        return keywords;
+    }
+
+    private void writeFiles() throws IOException {
+        keywordsFile = dir.resolve("keywords.txt");
+        journalFile = dir.resolve("keywords.txt.journal");
+        Files.write(keywordsFile, KEYWORDS.getBytes(StandardCharsets.UTF_8));
+        Files.write(journalFile, JOURNAL.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void restartFoldsPendingJournalIntoKeywordsFile() throws Exception {
+        writeFiles();
+        QuickLauncher_v2_KeywordRegistry registry = registry();
+        QuickLauncher_v2_KeywordJournal journal = new QuickLauncher_v2_KeywordJournal(keywordsFile, 1000, registry::compacted);
+
+        QuickLauncher_v2_KeywordStore.Builder keywords = parseKeywordsFile();
+        int journaled = journal.replay(keywords::put, keywords::remove);
+        assertEquals(2, journaled);
+        Thread.sleep(100); // Gives a compaction queued too early the chance to overwrite keywords.txt
+        assertEquals(KEYWORDS, new String(Files.readAllBytes(keywordsFile), StandardCharsets.UTF_8));
+
+        registry.replaceAll(keywords.build());
+        journal.compactReplayed(journaled);
+        journal.close();
+
+        QuickLauncher_v2_KeywordStore reloaded = parseKeywordsFile().build();
+        assertEquals(3, reloaded.size());
+        assertEquals("C:\\Steam\\steam.exe", reloaded.get("steam"));
+        assertEquals("C:\\Games\\Half-Life\\hl.exe", reloaded.get("half life"));
+        assertEquals("C:\\Games\\Half-Life\\hl.exe", reloaded.get("hl"));
+        assertNull(reloaded.get("portal"));
+        assertFalse(Files.exists(journalFile), "the journal is folded in");
+    }
+
+    @Test
+    void shutdownBeforePublishingLeavesFilesAlone() throws Exception {
+        writeFiles();
+        QuickLauncher_v2_KeywordRegistry registry = registry();
+        QuickLauncher_v2_KeywordJournal journal = new QuickLauncher_v2_KeywordJournal(keywordsFile, 1000, registry::compacted);
+
+        QuickLauncher_v2_KeywordStore.Builder keywords = parseKeywordsFile();
+        journal.replay(keywords::put, keywords::remove);
+        journal.close();
+
+        assertEquals(KEYWORDS, new String(Files.readAllBytes(keywordsFile), StandardCharsets.UTF_8));
+        assertEquals(JOURNAL, new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,146 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The catalog over fixture manifests laid out as each launcher writes them: a Steam root with a second
+ * library, an Epic Manifests directory and an XboxGames directory. Games are looked up by lowercase
+ * name the way a search queries the catalog.
+ */
+class QuickLauncher_v2_ManifestCatalogTest {
+    private static final java.util.List<Path> NONE = Collections.emptyList();
+
+    @TempDir
+    Path dir;
+
+    private static Path write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String appManifest(String name, String installDir) {
+        return "\"AppState\"\n{\n\t\"appid\"\t\t\"400\"\n\t\"name\"\t\t\"" + name + "\"\n\t\"installdir\"\t\t\"" + installDir + "\"\n}\n";
+    }
+
+    private static String epicManifest(String name, Path installDir, String launch, boolean incomplete) {
+        return "{\n\t\"FormatVersion\": 0,\n\t\"bIsIncompleteInstall\": " + incomplete + ",\n\t\"DisplayName\": \"" + name + "\",\n" +
+               "\t\"InstallLocation\": \"" + installDir.toString().replace("\\", "\\\\").replace("/", "\\/") + "\",\n" +
+               "\t\"LaunchExecutable\": \"" + launch + "\"\n}\n";
+    }
+
+    private static QuickLauncher_v2_ManifestCatalog steam(Path steamDir) {
+        return new QuickLauncher_v2_ManifestCatalog(Collections.singletonList(steamDir), NONE, NONE);
+    }
+
+    @Test
+    void steamGamesInEveryLibrary() throws IOException {
+        Path steam = dir.resolve("Steam");
+        Path library = dir.resolve("SteamLibrary");
+        write(steam.resolve("steamapps/libraryfolders.vdf"),
+            "\"libraryfolders\"\n{\n\t\"0\"\n\t{\n\t\t\"path\"\t\t\"" + steam.toString().replace("\\", "\\\\") + "\"\n\t}\n" +
+            "\t\"1\"\n\t{\n\t\t\"path\"\t\t\"" + library.toString().replace("\\", "\\\\") + "\"\n\t}\n}\n");
+        write(steam.resolve("steamapps/appmanifest_400.acf"), appManifest("Portal", "Portal"));
+        Path portal = write(steam.resolve("steamapps/common/Portal/portal.exe"), "");
+        write(steam.resolve("steamapps/common/Portal/unins000.exe"), "");
+        write(library.resolve("steamapps/appmanifest_70.acf"), appManifest("Half-Life", "Half-Life"));
+        Path halfLife = write(library.resolve("steamapps/common/Half-Life/hl.exe"), "");
+
+        QuickLauncher_v2_ManifestCatalog catalog = steam(steam);
+        assertEquals(2, catalog.size());
+        assertEquals(Collections.singletonList(portal.toAbsolutePath().toString()), catalog.find("portal", "portal"),
+            "helpers next to the game are never candidates");
+        assertEquals(Collections.singletonList(halfLife.toAbsolutePath().toString()), catalog.find("half-life", "half-life"));
+        assertTrue(catalog.find("doom", "doom").isEmpty());
+    }
+
+    @Test
+    void steamLibrariesInTheOldFormat() throws IOException {
+        Path steam = dir.resolve("Steam");
+        Path library = dir.resolve("SteamLibrary");
+        write(steam.resolve("steamapps/libraryfolders.vdf"),
+            "\"LibraryFolders\"\n{\n\t\"TimeNextStatsReport\"\t\t\"1234\"\n\t\"1\"\t\t\"" + library.toString().replace("\\", "\\\\") + "\"\n}\n");
+        write(library.resolve("steamapps/appmanifest_70.acf"), appManifest("Half-Life", "Half-Life"));
+        Path halfLife = write(library.resolve("steamapps/common/Half-Life/hl.exe"), "");
+
+        assertEquals(Collections.singletonList(halfLife.toAbsolutePath().toString()), steam(steam).find("half", "half"));
+    }
+
+    @Test
+    void epicGamesLaunchTheirManifestExecutable() throws IOException {
+        Path manifests = dir.resolve("Epic/Manifests");
+        Path fortnite = dir.resolve("Epic Games/Fortnite");
+        Path launch = write(fortnite.resolve("FortniteGame/Binaries/Win64/FortniteLauncher.exe"), "");
+        write(fortnite.resolve("FortniteGame/Binaries/Win64/FortniteClient.exe"), "");
+        write(manifests.resolve("A1B2.item"), epicManifest("Fortnite", fortnite, "FortniteGame/Binaries/Win64/FortniteLauncher.exe", false));
+        Path control = dir.resolve("Epic Games/Control");
+        write(control.resolve("Control.exe"), "");
+        write(manifests.resolve("C3D4.item"), epicManifest("Control", control, "Control.exe", true));
+        write(manifests.resolve("notes.txt"), "not a manifest");
+
+        QuickLauncher_v2_ManifestCatalog catalog = new QuickLauncher_v2_ManifestCatalog(NONE, Collections.singletonList(manifests), NONE);
+        assertEquals(1, catalog.size(), "incomplete installs are left out");
+        assertEquals(Collections.singletonList(launch.toAbsolutePath().toString()), catalog.find("fortnite", "fortnite"));
+        assertTrue(catalog.find("control", "control").isEmpty());
+    }
+
+    @Test
+    void xboxGamesLaunchThroughTheirHelperOrConfig() throws IOException {
+        Path xbox = dir.resolve("XboxGames");
+        Path helper = write(xbox.resolve("Halo Infinite/Content/gamelaunchhelper.exe"), "");
+        write(xbox.resolve("Halo Infinite/Content/HaloInfinite.exe"), "");
+        write(xbox.resolve("Forza Horizon 5/Content/MicrosoftGame.config"),
+            "<?xml version=\"1.0\"?>\n<Game configVersion=\"1\">\n  <ExecutableList>\n" +
+            "    <Executable Name=\"ForzaHorizon5.exe\" Id=\"Game\" />\n  </ExecutableList>\n</Game>\n");
+        Path forza = write(xbox.resolve("Forza Horizon 5/Content/ForzaHorizon5.exe"), "");
+        write(xbox.resolve("Forza Horizon 5/Content/Installer.exe"), "");
+        Files.createDirectories(xbox.resolve("GameSave"));
+
+        QuickLauncher_v2_ManifestCatalog catalog = new QuickLauncher_v2_ManifestCatalog(NONE, NONE, Collections.singletonList(xbox));
+        assertEquals(2, catalog.size(), "directories without Content are not games");
+        assertEquals(Collections.singletonList(helper.toAbsolutePath().toString()), catalog.find("halo", "halo"));
+        assertEquals(Collections.singletonList(forza.toAbsolutePath().toString()), catalog.find("forza horizon", "forzahorizon"));
+    }
+
+    @Test
+    void malformedManifestsAreSkipped() throws IOException {
+        Path steam = dir.resolve("Steam");
+        write(steam.resolve("steamapps/libraryfolders.vdf"), "\"libraryfolders\"\n{\n\t\"1\"\n\t{\n\t\t\"path\"\t\t\"");
+        write(steam.resolve("steamapps/appmanifest_1.acf"), "\"AppState\"\n{\n\t\"name\"\t\t\"No Install Dir\"\n");
+        write(steam.resolve("steamapps/appmanifest_2.acf"), "}}}{{\"\"\"");
+        write(steam.resolve("steamapps/appmanifest_3.acf"), "\"AppState\"\t\t\"not a block\"\n");
+        write(steam.resolve("steamapps/appmanifest_400.acf"), appManifest("Portal", "Portal"));
+        Path portal = write(steam.resolve("steamapps/common/Portal/portal.exe"), "");
+        Path manifests = dir.resolve("Epic/Manifests");
+        write(manifests.resolve("truncated.item"), "{\n\t\"DisplayName\": \"Fortnite\",\n\t\"InstallLocation\": \"C:\\\\Fort");
+        write(manifests.resolve("escapes.item"), "{ \"DisplayName\": \"Bad \\u12\", \"InstallLocation\": \"" +
+            dir.resolve("Epic Games/Bad").toString().replace("\\", "\\\\") + "\" }");
+        Path bad = write(dir.resolve("Epic Games/Bad/bad.exe"), "");
+
+        QuickLauncher_v2_ManifestCatalog catalog = new QuickLauncher_v2_ManifestCatalog(
+            Collections.singletonList(steam), Collections.singletonList(manifests), Collections.singletonList(dir.resolve("missing")));
+        assertEquals(2, catalog.size());
+        assertEquals(Collections.singletonList(portal.toAbsolutePath().toString()), catalog.find("portal", "portal"));
+        assertEquals(Collections.singletonList(bad.toAbsolutePath().toString()), catalog.find("bad", "bad"));
+        assertTrue(catalog.find("fortnite", "fortnite").isEmpty());
+    }
+
+    @Test
+    void changedManifestDirectoryIsReRead() throws IOException {
+        Path steam = dir.resolve("Steam");
+        Path steamApps = Files.createDirectories(steam.resolve("steamapps"));
+        QuickLauncher_v2_ManifestCatalog catalog = steam(steam);
+        assertEquals(0, catalog.size());
+
+        write(steamApps.resolve("appmanifest_400.acf"), appManifest("Portal", "Portal"));
+        Path portal = write(steamApps.resolve("common/Portal/portal.exe"), "");
+        Files.setLastModifiedTime(steamApps, FileTime.fromMillis(Files.getLastModifiedTime(steamApps).toMillis() + 2000));
+        assertEquals(Collections.singletonList(portal.toAbsolutePath().toString()), catalog.find("portal", "portal"));
+    }
+}
@@ -0,0 +1,127 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * PageProbe against a local HttpServer standing in for a wiki: /exists answers 200, anything else
+ * 404, and /slow waits for the test to release it. requests counts what actually reached the server.
+ */
+class QuickLauncher_v2_PageProbeTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final long LONG_TTL_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private HttpServer server;
+    private final ExecutorService handlers = Executors.newCachedThreadPool(); // /slow must not hold up the others
+    private String base;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch slowReleased = new CountDownLatch(1);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            if (exchange.getRequestURI().getPath().equals("/slow")) {
+                try {
+                    slowReleased.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            boolean exists = !exchange.getRequestURI().getPath().equals("/missing");
+            exchange.sendResponseHeaders(exists ? 200 : 404, -1);
+            exchange.close();
+        });
+        server.setExecutor(handlers);
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        slowReleased.countDown();
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private static QuickLauncher_v2_PageProbe probe(long positiveTtlMs, long negativeTtlMs) {
+        return new QuickLauncher_v2_PageProbe(QuickLauncher_v2_PageProbe.newClient(TIMEOUT), TIMEOUT, positiveTtlMs, negativeTtlMs);
+    }
+
+    @Test
+    void existingPageIsCachedUntilItsTtlExpires() throws Exception {
+        QuickLauncher_v2_PageProbe cached = probe(LONG_TTL_MS, LONG_TTL_MS);
+        assertTrue(cached.probe(base + "/exists").get());
+        assertTrue(cached.probe(base + "/exists").get());
+        assertEquals(1, requests.get());
+
+        QuickLauncher_v2_PageProbe expiring = probe(0, LONG_TTL_MS);
+        assertTrue(expiring.probe(base + "/exists").get());
+        assertTrue(expiring.probe(base + "/exists").get());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void missingPageIsCachedUntilItsTtlExpires() throws Exception {
+        QuickLauncher_v2_PageProbe cached = probe(LONG_TTL_MS, LONG_TTL_MS);
+        assertFalse(cached.probe(base + "/missing").get());
+        assertFalse(cached.probe(base + "/missing").get());
+        assertEquals(1, requests.get());
+
+        QuickLauncher_v2_PageProbe expiring = probe(LONG_TTL_MS, 0);
+        assertFalse(expiring.probe(base + "/missing").get());
+        assertFalse(expiring.probe(base + "/missing").get());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void unreachableHostFailsFastForOtherPages() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort(); // Free again once closed, so connecting is refused
+        }
+        QuickLauncher_v2_PageProbe probe = probe(LONG_TTL_MS, LONG_TTL_MS);
+        assertFalse(probe.probe("http://127.0.0.1:" + port + "/first").get());
+        CompletableFuture<Boolean> second = probe.probe("http://127.0.0.1:" + port + "/second");
+        assertTrue(second.isDone(), "a host that refused a connection is remembered");
+        assertFalse(second.get());
+    }
+
+    @Test
+    void timedOutPageDoesNotFailTheHost() throws Exception {
+        QuickLauncher_v2_PageProbe probe = new QuickLauncher_v2_PageProbe(
+            QuickLauncher_v2_PageProbe.newClient(TIMEOUT), Duration.ofMillis(200), LONG_TTL_MS, LONG_TTL_MS);
+        assertFalse(probe.probe(base + "/slow").get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertTrue(probe.probe(base + "/exists").get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void concurrentProbesShareOneRequest() throws Exception {
+        QuickLauncher_v2_PageProbe probe = probe(0, 0);
+        CompletableFuture<Boolean> first = probe.probe(base + "/slow");
+        CompletableFuture<Boolean> second = probe.probe(base + "/slow");
+        slowReleased.countDown();
+        assertTrue(first.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertTrue(second.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertEquals(1, requests.get());
+
+        // Finished probes leave no in-flight entry behind, so with no caching the next one asks again
+        assertTrue(probe.probe(base + "/slow").get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        assertEquals(2, requests.get());
+    }
+}
@@ -0,0 +1,126 @@
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The process table driven by a fake probe: running holds what the probe reports, as Windows and
+ * Unix paths or bare names, and failing makes it throw. calls counts the probe's invocations.
+ */
+class QuickLauncher_v2_ProcessTableTest {
+    private static final long NEVER_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long WAIT_MS = TimeUnit.SECONDS.toMillis(5);
+
+    private final java.util.List<String> running = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final QuickLauncher_v2_ProcessTable.Probe probe = () -> {
+        calls.incrementAndGet();
+        if (failing.get()) {
+            throw new IllegalStateException("probe failed");
+        }
+        return new ArrayList<>(running);
+    };
+
+    @Test
+    void matchesExecutableNamesWhateverThePathStyle() {
+        running.addAll(Arrays.asList("C:\\Games\\Portal\\Portal.exe", "/opt/games/hl.exe", "steam.exe"));
+        QuickLauncher_v2_ProcessTable table = new QuickLauncher_v2_ProcessTable(probe, NEVER_MS);
+
+        assertTrue(table.isRunning("portal.exe"));
+        assertTrue(table.isRunning("PORTAL.EXE"));
+        assertTrue(table.isRunning("hl.exe"));
+        assertTrue(table.isRunning("steam.exe"));
+        assertFalse(table.isRunning("Portal"), "the whole file name must match");
+        assertFalse(table.isRunning("doom.exe"));
+    }
+
+    @Test
+    void lookupsReadTheSnapshotUntilTheNextRefresh() {
+        QuickLauncher_v2_ProcessTable table = new QuickLauncher_v2_ProcessTable(probe, NEVER_MS);
+        assertFalse(table.isRunning("portal.exe")); // The first lookup takes the snapshot itself
+        running.add("C:\\Games\\Portal\\portal.exe");
+
+        assertFalse(table.isRunning("portal.exe"));
+        assertFalse(table.isRunning("hl.exe"));
+        assertEquals(1, calls.get(), "lookups must not probe");
+
+        table.refresh();
+        assertTrue(table.isRunning("portal.exe"));
+        running.clear();
+        table.refresh();
+        assertFalse(table.isRunning("portal.exe"), "an exited game is not reported running");
+    }
+
+    @Test
+    void failedProbeKeepsThePreviousSnapshot() {
+        running.add("C:\\Games\\Portal\\portal.exe");
+        QuickLauncher_v2_ProcessTable table = new QuickLauncher_v2_ProcessTable(probe, NEVER_MS);
+        table.refresh();
+
+        running.clear();
+        failing.set(true);
+        table.refresh();
+        assertTrue(table.isRunning("portal.exe"));
+    }
+
+    @Test
+    void failedFirstProbeReportsNothingRunning() {
+        failing.set(true);
+        QuickLauncher_v2_ProcessTable table = new QuickLauncher_v2_ProcessTable(probe, NEVER_MS);
+        assertFalse(table.isRunning("portal.exe"));
+
+        failing.set(false);
+        running.add("portal.exe");
+        assertTrue(table.isRunning("portal.exe"), "a failed first probe publishes no snapshot, so the next lookup probes again");
+    }
+
+    @Test
+    void startedTableRefreshesOnItsInterval() throws InterruptedException {
+        QuickLauncher_v2_ProcessTable table = new QuickLauncher_v2_ProcessTable(probe, 10);
+        table.start();
+        try {
+            running.add("C:\\Games\\Portal\\portal.exe");
+            assertTrue(becomes(() -> table.isRunning("portal.exe"), true), "a launched game shows up");
+            running.clear();
+            assertTrue(becomes(() -> table.isRunning("portal.exe"), false), "an exited game drops out");
+        } finally {
+            table.stop();
+        }
+        int stopped = calls.get();
+        Thread.sleep(50);
+        assertTrue(calls.get() <= stopped + 1, "stop ends the refreshes"); // One may have been under way
+    }
+
+    @Test
+    void processHandleProbeSeesThisJvm() {
+        String command = ProcessHandle.current().info().command().orElse(null);
+        assumeTrue(command != null, "the platform does not report process commands");
+
+        Collection<String> executables = QuickLauncher_v2_ProcessTable.PROCESS_HANDLE_PROBE.runningExecutables();
+        assertTrue(executables.contains(command));
+        QuickLauncher_v2_ProcessTable table = new QuickLauncher_v2_ProcessTable(
+            QuickLauncher_v2_ProcessTable.PROCESS_HANDLE_PROBE, NEVER_MS);
+        assertTrue(table.isRunning(new File(command).getName()));
+    }
+
+    private static boolean becomes(java.util.function.BooleanSupplier condition, boolean expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (condition.getAsBoolean() != expected) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+}